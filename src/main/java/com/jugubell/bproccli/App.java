@@ -1,7 +1,7 @@
 /*
  * File: App.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:38
+ * Last modified: 2026-10-18 08:23
  *
  * This file: App.java is part of BProC-CLI project.
  *
@@ -23,17 +23,32 @@
 
 package com.jugubell.bproccli;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.jugubell.bproccli.cli.CommandLine;
 import com.jugubell.bproccli.cli.CommandLineAction;
 import com.jugubell.bproccli.cli.CommandLineOption;
 import com.jugubell.bproccli.compiler.Compile;
+import com.jugubell.bproccli.compiler.MacroExpander;
+import com.jugubell.bproccli.compiler.Optimizer;
 import com.jugubell.bproccli.compiler.VerifySyntax;
 import com.jugubell.bproccli.console.Log;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.InstructionSetFile;
 import com.jugubell.bproccli.files.ReadAssemblerFile;
 import com.jugubell.bproccli.files.WriteHexFile;
+import com.jugubell.bproccli.files.WriteStatus;
+import com.jugubell.bproccli.utils.InstructionSet;
 
 /**
  * App class
@@ -44,6 +59,11 @@ public class App {
     public static void main(String[] args) {
 
         CommandLine cli = new CommandLine(args);
+
+        // the standard output is kept for the compiled code
+        if(cli.isStandardOutput())
+            Log.useStandardError();
+
         CommandLineAction inAction = cli.getInAction();
         CommandLineAction outAction = cli.getOutAction();
 
@@ -90,6 +110,9 @@ public class App {
             case INVALID_OUT_PATH:
                 Log.error("[ERROR] Invalid output file or directory path. Show help with command: java -jar BProC.jar help");
                 break;
+            case OUT_FILE_EXISTS:
+                Log.error("[ERROR] The output file already exists. Use -ow to overwrite it. Show help with command: java -jar BProC.jar help");
+                break;
             case PARSE_ERROR:
                 Log.error("[ERROR] Argument non-valid. Show help with command: java -jar BProC.jar help");
                 break;
@@ -106,49 +129,61 @@ public class App {
 
         if(inActionCorrect && outActionCorrect) {
             String sourceFilePath = cli.getSourceFile();
-            String outputFilePath = cli.getOutputFile();
-            CommandLineOption option = cli.getOption();
+            Set<CommandLineOption> options = cli.getOptions();
+
+            // the built-in instruction set, or the one of the definition file
+            InstructionSet instructionSet = InstructionSet.BUILT_IN;
+            if(cli.getIsaFile() != null) {
+                instructionSet = new InstructionSetFile(cli.getIsaFile()).load();
+                if(instructionSet == null)
+                    return;
+            }
+
+            // the lines are verified and encoded while the file is read, the files are written once the whole code is verified
+            VerifySyntax verifySyntax = new VerifySyntax(cli.getMaxErrors(), cli.getGeometry(), instructionSet);
+            Compile compile = new Compile(verifySyntax.getIntermediateCode(), cli.getGeometry(), instructionSet);
+            verifySyntax.setCompile(compile);
+            // the optimizer knows the instructions by their built-in behavior only
+            if(cli.isOptimize() && !Optimizer.supports(instructionSet))
+                Log.warning("[WARNING] Option -O ignored, the code is not optimized with an instruction set definition file.");
+            else if(cli.isOptimize())
+                verifySyntax.setOptimizer(new Optimizer(verifySyntax.getIntermediateCode(), instructionSet));
+            compile.setByteOrder(cli.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            compile.setTrim(cli.isTrim());
+
+            // the macros and repeated blocks are expanded before the verification
+            MacroExpander macroExpander = new MacroExpander(verifySyntax, instructionSet, verifySyntax.getDiagnostics());
 
             ReadAssemblerFile asmFile = new ReadAssemblerFile(sourceFilePath);
-            boolean readFileStaus = asmFile.readFile();
+            boolean readFileStaus = asmFile.readFile(macroExpander);
+            macroExpander.finish();
 
             if(readFileStaus) {
-                VerifySyntax verifySyntax = new VerifySyntax(asmFile.getTrimmedData());
 
                 if(Arrays.asList(CommandLineAction.VERIFY_SYNTAX, CommandLineAction.GENERATE_CODE).contains(inAction)) {
 
                     if(verifySyntax.isSyntaxCorrect()) {
 
-                        Compile compile = new Compile(verifySyntax.getCode(), verifySyntax.getCodeLineType(), verifySyntax.getProgramMetadata());
-                        List<String> outFile;
-
-                        if(option == CommandLineOption.HEXV3) {
-                            outFile = compile.getHexFileHexV3();
-                        } else if(option == CommandLineOption.HEX) {
-                            outFile = compile.getHexFileHex(true);
-                        } else if(option == CommandLineOption.VHDL) {
-                            outFile = compile.getHexFileVhdl();
-                        } else if(option == CommandLineOption.VERILOG) {
-                            outFile = compile.getHexFileVerilog();
-                        } else {
-                            outFile = compile.getHexFileHex(false);
-                        }
-
-                        if(outFile != null) {
-                            if(inAction == CommandLineAction.GENERATE_CODE) {
-                                for (String s: outFile) {
-                                    System.out.println(s);
+                        // the code is not printed twice when it is written on the standard output
+                        if(inAction == CommandLineAction.GENERATE_CODE && !cli.isStandardOutput()) {
+                            try {
+                                // encoded into one buffer and printed in bulk, format after format
+                                AsciiWriter out = new AsciiWriter(Channels.newChannel(System.out));
+                                for (CommandLineOption option : options) {
+                                    compile.getEmitter(option).emit(out);
+                                    if(option.isText())
+                                        out.newLine();
                                 }
-                                Log.info("[INFO BProC-CLI] Done generating code.");
+                                out.flush();
+                                System.out.flush();
+                            } catch (IOException e) {
+                                Log.error("[ERROR] Printing code failed: " + e.getMessage());
                             }
+                            Log.info("[INFO BProC-CLI] Done generating code.");
+                        }
 
-                            if(outAction == CommandLineAction.WRITE_CODE) {
-                                WriteHexFile writeHexFile = new WriteHexFile(outputFilePath, outFile, option);
-                                if(writeHexFile.writeFile())
-                                    Log.info("[INFO BProC-CLI] File written successfully.");
-                            }
-                        } else {
-                            Log.error("[ERROR] Output file not generated.");
+                        if(outAction == CommandLineAction.WRITE_CODE) {
+                            writeFiles(compile, cli);
                         }
                     }
                 }
@@ -156,4 +191,70 @@ public class App {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes a file per output format.
+     * The formats share the same compiled image, their files are written concurrently.
+     * @param compile the completed {@link Compile}
+     * @param cli the command line with the output path, formats and flags
+     */
+    private static void writeFiles(Compile compile, CommandLine cli) {
+        Set<CommandLineOption> options = cli.getOptions();
+
+        if(options.size() == 1) {
+            WriteHexFile writeHexFile = newWriteHexFile(compile, cli, options.iterator().next());
+            WriteStatus status = writeHexFile.writeFile();
+            if(status == WriteStatus.WRITTEN)
+                Log.info("[INFO BProC-CLI] File written successfully.");
+            else if(status == WriteStatus.UNCHANGED)
+                Log.info("[INFO BProC-CLI] File up to date.");
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.size(), Runtime.getRuntime().availableProcessors()));
+        List<Future<WriteStatus>> results = new ArrayList<>();
+        for (CommandLineOption option : options) {
+            WriteHexFile writeHexFile = newWriteHexFile(compile, cli, option);
+            results.add(executor.submit(writeHexFile::writeFile));
+        }
+        executor.shutdown();
+
+        // every file is waited for, even if one fails
+        int written = 0;
+        int unchanged = 0;
+        for (Future<WriteStatus> result : results) {
+            try {
+                WriteStatus status = result.get();
+                if(status == WriteStatus.WRITTEN)
+                    written++;
+                else if(status == WriteStatus.UNCHANGED)
+                    unchanged++;
+            } catch (InterruptedException | ExecutionException e) {
+                Log.error("[ERROR] Writing file failed: " + e.getMessage());
+            }
+        }
+
+        if(written + unchanged == options.size()) {
+            if(written > 0)
+                Log.info("[INFO BProC-CLI] " + written + " files written successfully.");
+            if(unchanged > 0)
+                Log.info("[INFO BProC-CLI] " + unchanged + " files up to date.");
+        }
+    }
+
+    /**
+     * Creates the file writer of an output format.
+     * @param compile the completed {@link Compile}
+     * @param cli the command line with the output path, formats and flags
+     * @param option the output format
+     * @return the {@link WriteHexFile}
+     */
+    private static WriteHexFile newWriteHexFile(Compile compile, CommandLine cli, CommandLineOption option) {
+        WriteHexFile writeHexFile = new WriteHexFile(cli.getOutputFile(), compile.getEmitter(option), option, cli.getOptions());
+        writeHexFile.setIfChanged(cli.isIfChanged());
+        writeHexFile.setHashName(cli.isHashName());
+        writeHexFile.setAtomic(cli.isAtomic());
+        writeHexFile.setOverwrite(cli::confirmOverwrite);
+        return writeHexFile;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * File: CommandLine.java
  * Project: bproc-cli
- * Last modified: 2025-09-18 17:02
+ * Last modified: 2026-10-18 08:14
  *
  * This file: CommandLine.java is part of BProC-CLI project.
  *
@@ -23,9 +23,18 @@
 
 package com.jugubell.bproccli.cli;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import com.jugubell.bproccli.compiler.Diagnostics;
+import com.jugubell.bproccli.compiler.Geometry;
+import com.jugubell.bproccli.utils.Constants;
 import com.jugubell.bproccli.utils.Utils;
 import com.jugubell.bproccli.console.Log;
+import com.jugubell.bproccli.files.WriteHexFile;
 
 /**
  * Small utility for handling command line interface
@@ -37,7 +46,16 @@ public class CommandLine {
     private String outputFile;
     private CommandLineAction inAction = CommandLineAction.NOTHING;
     private CommandLineAction outAction = CommandLineAction.NOTHING;
-    private CommandLineOption option = CommandLineOption.BIN;
+    private final Set<CommandLineOption> options = EnumSet.noneOf(CommandLineOption.class);
+    private int maxErrors = Diagnostics.DEFAULT_MAX_ERRORS;
+    private boolean littleEndian = false;
+    private boolean trim = false;
+    private boolean ifChanged = false;
+    private boolean hashName = false;
+    private boolean atomic = false;
+    private boolean optimize = false;
+    private Geometry geometry = Geometry.DEFAULT;
+    private String isaFile;
     private final String[] args;
 
     final List<String> HELP_ARGS = Arrays.asList("-h", "help", "--help");
@@ -45,10 +63,12 @@ public class CommandLine {
     final List<String> INSTR_ARGS = Arrays.asList("--instruction-set", "--is");
     final List<String> ACTION_IN_ARGS = Arrays.asList("-s", "-g");
     final List<String> ACTION_OUT_ARGS = Arrays.asList("-o", "-ow");
-    final List<String> OPTION_ARGS = Arrays.asList("--hex", "--bin", "--hexv3", "--vhdl", "--vrlg");
+    final List<String> OPTION_ARGS = Arrays.asList("--hex", "--bin", "--hexv3", "--vhdl", "--vrlg", "--raw", "--ihex", "--srec", "--mem", "--mif", "--coe");
+    final List<String> FLAG_ARGS = Arrays.asList("--little-endian", "--trim", "--if-changed", "--hash-name", "--atomic", "--optimize", "-O");
+    final List<String> VALUE_ARGS = Arrays.asList("--max-errors", "--depth", "--width", "--isa");
 
     private final HashMap<String, String> pairArgs = new HashMap<>();
-    private String optArg;
+    private final HashMap<String, String> valueArgs = new HashMap<>();
 
     /**
      * Constructor of the class
@@ -76,8 +96,74 @@ public class CommandLine {
         return this.outAction;
     }
 
+    /**
+     * Getting the first output format, or the binary format if none is provided.
+     * @return the option as {@link CommandLineOption}
+     */
     public CommandLineOption getOption() {
-        return this.option;
+        return this.options.isEmpty() ? CommandLineOption.BIN : this.options.iterator().next();
+    }
+
+    /**
+     * Getting every output format provided, the binary format if none is provided.
+     * @return the options as a <code>Set</code> of {@link CommandLineOption}
+     */
+    public Set<CommandLineOption> getOptions() {
+        return this.options.isEmpty() ? EnumSet.of(CommandLineOption.BIN) : this.options;
+    }
+
+    public int getMaxErrors() {
+        return this.maxErrors;
+    }
+
+    public boolean isLittleEndian() {
+        return this.littleEndian;
+    }
+
+    public boolean isTrim() {
+        return this.trim;
+    }
+
+    public boolean isIfChanged() {
+        return this.ifChanged;
+    }
+
+    public boolean isHashName() {
+        return this.hashName;
+    }
+
+    public boolean isAtomic() {
+        return this.atomic;
+    }
+
+    public boolean isOptimize() {
+        return this.optimize;
+    }
+
+    /**
+     * Getting the RAM geometry, from the <code>--depth</code> and <code>--width</code> options,
+     * else from the project properties file, else 4096 words of 16 bits.
+     * @return the geometry as {@link Geometry}
+     */
+    public Geometry getGeometry() {
+        return this.geometry;
+    }
+
+    /**
+     * Getting the instruction set definition file, from the <code>--isa</code> option,
+     * else from the project properties file.
+     * @return the file path, null for the built-in instruction set
+     */
+    public String getIsaFile() {
+        return this.isaFile;
+    }
+
+    /**
+     * Checks if the compiled code is written to the standard output with <code>-o -</code>
+     * @return boolean true if the output is the standard output
+     */
+    public boolean isStandardOutput() {
+        return this.outAction == CommandLineAction.WRITE_CODE && Constants.STANDARD_STREAM.equals(this.outputFile);
     }
 
     /**
@@ -99,12 +185,39 @@ public class CommandLine {
                     this.inAction = CommandLineAction.SHOW_INSTRSET; // instruction set arg
                 }
 
-            // handling 2 to 5 arguments
-            } else if (argsLen > 1 && argsLen <= 5) {
+            // handling 2 arguments or more
+            } else if (argsLen > 1) {
+                // separating the action pairs, the options and the options with a value
+                List<String> actionArgs = new ArrayList<>();
+                List<String> optionArgs = new ArrayList<>();
+                for (int i = 0; i < argsLen; i++) {
+                    if(this.VALUE_ARGS.contains(this.args[i])) {
+                        if(i + 1 < argsLen && !this.valueArgs.containsKey(this.args[i])) {
+                            this.valueArgs.put(this.args[i], this.args[i+1]);
+                            i++;
+                        } else {
+                            this.inAction = CommandLineAction.PARSE_ERROR;
+                            this.outAction = CommandLineAction.PARSE_ERROR;
+                            return;
+                        }
+                    } else if(this.args[i].startsWith("--") || this.FLAG_ARGS.contains(this.args[i])) {
+                        optionArgs.add(this.args[i]);
+                    } else {
+                        actionArgs.add(this.args[i]);
+                    }
+                }
+
+                // at most an input and an output action
+                if(actionArgs.size() % 2 != 0 || actionArgs.size() > 4) {
+                    this.inAction = CommandLineAction.PARSE_ERROR;
+                    this.outAction = CommandLineAction.PARSE_ERROR;
+                    return;
+                }
+
                 // grouping args into pairs and looks for duplicate actions
-                for (int i = 0; i <= (double) (argsLen / 2); i+=2) {
-                    if(!this.pairArgs.containsKey(this.args[i])) {
-                        this.pairArgs.put(this.args[i], this.args[i+1]);
+                for (int i = 0; i < actionArgs.size(); i+=2) {
+                    if(!this.pairArgs.containsKey(actionArgs.get(i))) {
+                        this.pairArgs.put(actionArgs.get(i), actionArgs.get(i+1));
                     } else {
                         this.inAction = CommandLineAction.PARSE_ERROR;
                         return;
@@ -115,8 +228,8 @@ public class CommandLine {
                 if(!Collections.disjoint(this.pairArgs.keySet(), this.ACTION_IN_ARGS)) {
                     // handling -s action
                     if(this.pairArgs.containsKey("-s")) {
-                        // verifying file path validity
-                        if(Utils.checkPath(this.pairArgs.get("-s")) == PathType.FILE_EXISTS) {
+                        // verifying file path validity, '-' for the standard input
+                        if(isReadable(Utils.checkPath(this.pairArgs.get("-s")))) {
                             this.inAction = CommandLineAction.VERIFY_SYNTAX;
                             this.sourceFile = this.pairArgs.get("-s");
                         } else {
@@ -126,8 +239,8 @@ public class CommandLine {
 
                     // handling -g action
                     if(this.pairArgs.containsKey("-g")) {
-                        // verifying file path validity
-                        if(Utils.checkPath(this.pairArgs.get("-g")) == PathType.FILE_EXISTS) {
+                        // verifying file path validity, '-' for the standard input
+                        if(isReadable(Utils.checkPath(this.pairArgs.get("-g")))) {
                             this.inAction = CommandLineAction.GENERATE_CODE;
                             this.sourceFile = this.pairArgs.get("-g");
                         } else {
@@ -137,22 +250,11 @@ public class CommandLine {
 
                     // handling -o action
                     if(this.pairArgs.containsKey("-o")) {
-                        // checks if the file already exists : emits an overwrite warning
-                        if(Utils.checkPath(this.pairArgs.get("-o"), false) == PathType.FILE_EXISTS) {
-                            Scanner scanner = new Scanner(System.in);
-                            Log.warning("[WARNING] The file already exists, would you like to overwrite it? (Y/n): ");
-
-                            String answer = scanner.nextLine().trim();
-
-                            if (!answer.equals("Y")) {
-                                this.outAction = CommandLineAction.ABORT;
-                            }
+                        PathType outPath = Utils.checkPath(this.pairArgs.get("-o"), false);
 
-                            this.outAction = CommandLineAction.WRITE_CODE;
-                            this.outputFile = this.pairArgs.get("-o");
-
-                        // verifying file/directory path validity
-                        } else if(Utils.checkPath(this.pairArgs.get("-o"), false) == PathType.FILE_NEW || Utils.checkPath(this.pairArgs.get("-o"), false) == PathType.DIRECTORY) {
+                        // verifying file/directory path validity, '-' for the standard output
+                        // the existing files are checked once the formats are known
+                        if(outPath == PathType.FILE_EXISTS || outPath == PathType.FILE_NEW || outPath == PathType.DIRECTORY || outPath == PathType.STANDARD_STREAM) {
                             this.outAction = CommandLineAction.WRITE_CODE;
                             this.outputFile = this.pairArgs.get("-o");
                         } else {
@@ -162,7 +264,7 @@ public class CommandLine {
 
                     // handling -ow overwrite action
                     if(this.pairArgs.containsKey("-ow")) {
-                        if(Utils.checkPath(this.pairArgs.get("-ow"), false) == PathType.FILE_NEW || Utils.checkPath(this.pairArgs.get("-ow"), false) == PathType.FILE_EXISTS || Utils.checkPath(this.pairArgs.get("-ow"), false) == PathType.DIRECTORY) {
+                        if(Utils.checkPath(this.pairArgs.get("-ow"), false) != PathType.INVALID) {
                             this.outAction = CommandLineAction.WRITE_CODE;
                             this.outputFile = this.pairArgs.get("-ow");
                         } else {
@@ -173,30 +275,88 @@ public class CommandLine {
                     this.inAction = CommandLineAction.NO_IN_ARGS;
                 }
 
-                // handling the option argument
-                if(argsLen % 2 == 1) {
-                    String opt = this.args[argsLen-1];
-                    if(this.OPTION_ARGS.contains(opt)) {
+                // handling the option arguments, any combination of compile types is allowed
+                for (String opt : optionArgs) {
+                    // output flags
+                    if(this.FLAG_ARGS.contains(opt)) {
                         switch (opt) {
-                            case "--hex":
-                                this.option = CommandLineOption.HEX;
+                            case "--little-endian":
+                                this.littleEndian = true;
+                                break;
+                            case "--trim":
+                                this.trim = true;
                                 break;
-                            case "--hexv3":
-                                this.option = CommandLineOption.HEXV3;
+                            case "--if-changed":
+                                this.ifChanged = true;
                                 break;
-                            case "--vhdl":
-                                this.option = CommandLineOption.VHDL;
+                            case "--hash-name":
+                                this.hashName = true;
                                 break;
-                            case "--vrlg":
-                                this.option = CommandLineOption.VERILOG;
+                            case "--optimize":
+                            case "-O":
+                                this.optimize = true;
                                 break;
                             default:
-                                this.option = CommandLineOption.BIN;
+                                this.atomic = true;
                                 break;
                         }
+                        continue;
+                    }
+
+                    CommandLineOption option = this.findOption(opt);
+                    if(option == null) {
+                        this.inAction = CommandLineAction.INVALID_OPTION;
+                    } else if(!this.options.add(option)) {
+                        this.inAction = CommandLineAction.DUPLICATE_ARGS;
+                    }
+                }
+
+                // several compile types can not be written on the standard output
+                if(this.options.size() > 1 && this.isStandardOutput()) {
+                    this.inAction = CommandLineAction.INVALID_OPTION;
+                }
+
+                // checks if a file to write already exists : emits an overwrite warning
+                if(this.pairArgs.containsKey("-o") && !this.pairArgs.containsKey("-ow") && this.outAction == CommandLineAction.WRITE_CODE && this.isOutputExisting()) {
+                    if(!this.isInteractive())
+                        this.outAction = CommandLineAction.OUT_FILE_EXISTS;
+                    else
+                        this.outAction = this.askOverwrite() ? CommandLineAction.WRITE_CODE : CommandLineAction.ABORT;
+                }
+
+                // handling the maximum number of reported errors
+                if(this.valueArgs.containsKey("--max-errors")) {
+                    try {
+                        this.maxErrors = Integer.parseInt(this.valueArgs.get("--max-errors"));
+                    } catch (NumberFormatException e) {
+                        this.maxErrors = 0;
+                    }
+                    if(this.maxErrors < 1) {
+                        this.inAction = CommandLineAction.INVALID_OPTION;
+                    }
+                }
+
+                // handling the RAM geometry and the instruction set, the options override the project properties
+                if(this.sourceFile != null) {
+                    Path projectDirectory = this.getProjectDirectory();
+                    Properties project = this.loadProjectProperties(projectDirectory);
+                    String depthValue = this.valueArgs.getOrDefault("--depth", project.getProperty("ram.depth"));
+                    String widthValue = this.valueArgs.getOrDefault("--width", project.getProperty("ram.width"));
+
+                    int depth = depthValue == null ? Geometry.MIN_DEPTH : parseSize(depthValue);
+                    int width = widthValue == null ? Math.max(16, Geometry.defaultWidth(depth)) : parseSize(widthValue);
+                    if(Geometry.isValid(depth, width)) {
+                        this.geometry = new Geometry(depth, width);
                     } else {
                         this.inAction = CommandLineAction.INVALID_OPTION;
                     }
+
+                    // the instruction set file of the project is relative to the project directory
+                    if(this.valueArgs.containsKey("--isa")) {
+                        this.isaFile = this.valueArgs.get("--isa");
+                    } else if(project.getProperty("isa") != null) {
+                        this.isaFile = projectDirectory.resolve(project.getProperty("isa").trim()).toString();
+                    }
                 }
 
             } else {
@@ -208,4 +368,136 @@ public class CommandLine {
             this.outAction = CommandLineAction.PARSE_ERROR;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the user can be asked a question: there is an interactive console
+     * and the source is not read from the standard input.
+     * @return boolean true if a question can be asked
+     */
+    private boolean isInteractive() {
+        return System.console() != null && !Constants.STANDARD_STREAM.equals(this.sourceFile);
+    }
+
+    /**
+     * Checks if one of the files written for the formats already exists.
+     * The timestamped names in a directory and the hashed names are only known when writing,
+     * they are checked by {@link #confirmOverwrite(Path)}.
+     * @return boolean true if a file to write already exists
+     */
+    private boolean isOutputExisting() {
+        if(Utils.checkPath(this.outputFile, false) == PathType.FILE_EXISTS)
+            return true;
+        if(this.hashName || Utils.checkPath(this.outputFile, false) != PathType.FILE_NEW)
+            return false;
+
+        for (CommandLineOption option : this.options) {
+            if(Files.exists(WriteHexFile.getOutputPath(this.outputFile, option, this.options, "", false)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Confirms the overwrite of an existing output file whose name is only known when writing.
+     * The files are always overwritten with -ow, never when the user can not be asked.
+     * @param path the existing file path
+     * @return boolean true if the file can be overwritten
+     */
+    public synchronized boolean confirmOverwrite(Path path) {
+        if(this.pairArgs.containsKey("-ow"))
+            return true;
+        if(!this.isInteractive()) {
+            Log.error("[ERROR] The output file already exists: " + path.getFileName() + ". Use -ow to overwrite it.");
+            return false;
+        }
+        return this.askOverwrite();
+    }
+
+    /**
+     * Asks the user to overwrite the existing output file.
+     * @return boolean true if the user answered 'Y'
+     */
+    private boolean askOverwrite() {
+        Scanner scanner = new Scanner(System.in);
+        Log.warning("[WARNING] The file already exists, would you like to overwrite it? (Y/n): ");
+
+        if(!scanner.hasNextLine()) {
+            return false;
+        }
+        return scanner.nextLine().trim().equals("Y");
+    }
+
+    /**
+     * Getting the project directory: the directory of the source file,
+     * or the working directory if the source is the standard input.
+     * @return the directory path
+     */
+    private Path getProjectDirectory() {
+        if(Constants.STANDARD_STREAM.equals(this.sourceFile))
+            return Paths.get("").toAbsolutePath();
+        return Paths.get(this.sourceFile).toAbsolutePath().getParent();
+    }
+
+    /**
+     * Loads the project properties file from the project directory.
+     * @param directory the project directory
+     * @return the properties, empty if there is no project properties file
+     */
+    private Properties loadProjectProperties(Path directory) {
+        Properties properties = new Properties();
+        Path file = directory.resolve(Constants.PROJECT_FILE);
+
+        if(Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                Log.warning("[WARNING] The project file could not be read: " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Parses a size, in decimal with an optional K (1024) or M (1024 * 1024) suffix.
+     * @param value the size as <code>String</code>, as 65536 or 64K
+     * @return the size as <code>int</code>, -1 if the value is not valid
+     */
+    private static int parseSize(String value) {
+        value = value.trim().toUpperCase();
+        int unit = 1;
+        if(value.endsWith("K")) {
+            unit = 1 << 10;
+        } else if(value.endsWith("M")) {
+            unit = 1 << 20;
+        }
+        if(unit > 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+
+        try {
+            long size = Long.parseLong(value) * unit;
+            return size > 0 && size <= Integer.MAX_VALUE ? (int) size : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Searches the compile type of an option argument.
+     * @param opt the option argument
+     * @return the {@link CommandLineOption}, null if the option is not a compile type
+     */
+    private CommandLineOption findOption(String opt) {
+        if(this.OPTION_ARGS.contains(opt)) {
+            for (CommandLineOption option : CommandLineOption.values()) {
+                if(option.getFlag().equals(opt))
+                    return option;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isReadable(PathType pathType) {
+        return pathType == PathType.FILE_EXISTS || pathType == PathType.STANDARD_STREAM;
+    }
+}
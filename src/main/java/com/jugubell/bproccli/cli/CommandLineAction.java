@@ -1,7 +1,7 @@
 /*
  * File: CommandLineAction.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:24
  *
  * This file: CommandLineAction.java is part of BProC-CLI project.
  *
@@ -33,6 +33,7 @@ public enum CommandLineAction {
     INVALID_OPTION,
     INVALID_IN_PATH,
     INVALID_OUT_PATH,
+    OUT_FILE_EXISTS,
     NO_IN_ARGS,
     SHOW_HELP,
     SHOW_VERSION,
@@ -1,7 +1,7 @@
 /*
  * File: CommandLineOption.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:32
  *
  * This file: CommandLineOption.java is part of BProC-CLI project.
  *
@@ -25,12 +25,52 @@ package com.jugubell.bproccli.cli;
 
 /**
  * Enumeration of possible CLI options
+ * Each output format has its command line flag and its file extension.
  * @author Jugurtha Bellagh
  */
 public enum CommandLineOption {
-    BIN,
-    HEX,
-    HEXV3,
-    VHDL,
-    VERILOG
+    BIN("--bin", "data"),
+    HEX("--hex", "data"),
+    HEXV3("--hexv3", "hex"),
+    VHDL("--vhdl", "vhd"),
+    VERILOG("--vrlg", "v"),
+    RAW("--raw", "bin"),
+    IHEX("--ihex", "ihx"),
+    SREC("--srec", "srec"),
+    MEM("--mem", "mem"),
+    MIF("--mif", "mif"),
+    COE("--coe", "coe");
+
+    private final String flag;
+    private final String extension;
+
+    CommandLineOption(String flag, String extension) {
+        this.flag = flag;
+        this.extension = extension;
+    }
+
+    // Getters
+    public String getFlag() {
+        return this.flag;
+    }
+
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Checks if the format is a text, the raw binary image is not.
+     * @return boolean true for the text formats
+     */
+    public boolean isText() {
+        return this != RAW;
+    }
+
+    /**
+     * Getting the name of the format, the flag without the dashes.
+     * @return the name as <code>String</code>
+     */
+    public String getName() {
+        return this.flag.substring(2);
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * File: PathType.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:24
  *
  * This file: PathType.java is part of BProC-CLI project.
  *
@@ -31,5 +31,6 @@ public enum PathType {
     FILE_NEW,
     FILE_EXISTS,
     DIRECTORY,
+    STANDARD_STREAM,
     INVALID
 }
@@ -0,0 +1,151 @@
+/*
+ * File: AddressMap.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:41
+ *
+ * This file: AddressMap.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.utils.DataRange;
+
+/**
+ * Address occupancy map of the RAM.
+ * <p>Every word of the RAM is tagged as program, data or free using two bitsets
+ * stored in <code>long</code> arrays. Marking a word checks in O(1) for duplicate
+ * data declarations, program and data overlaps, declarations in the reserved range
+ * and out of range addresses. The words counts are kept up to date while marking.</p>
+ * @author Jugurtha Bellagh
+ */
+public class AddressMap {
+    /** Data declaration is not allowed in the range [000h - 00Fh]. */
+    public static final int RESERVED_WORDS = 16;
+
+    private final int size;
+    private final long[] program;
+    private final long[] data;
+    private int programWords = 0;
+    private int dataWords = 0;
+
+    /**
+     * Constructor of {@link AddressMap}
+     * @param size the RAM size in words
+     */
+    public AddressMap(int size) {
+        this.size = size;
+        this.program = new long[(size + 63) >>> 6];
+        this.data = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Tags a word as data.
+     * The word is tagged even if it overlaps the program, so the data usage stays exact.
+     * @param address the address of the declared data
+     * @return the {@link AddressStatus} of the declaration
+     */
+    public AddressStatus markData(int address) {
+        if(address < 0 || address >= this.size) {
+            return AddressStatus.OUT_OF_RANGE;
+        }
+        if(address < RESERVED_WORDS) {
+            return AddressStatus.RESERVED;
+        }
+        if(isSet(this.data, address)) {
+            return AddressStatus.DUPLICATE;
+        }
+        set(this.data, address);
+        this.dataWords++;
+        return isSet(this.program, address) ? AddressStatus.OVERLAP : AddressStatus.OK;
+    }
+
+    /**
+     * Tags a word as program.
+     * @param address the address of the instruction
+     * @return the {@link AddressStatus} of the instruction
+     */
+    public AddressStatus markProgram(int address) {
+        if(address < 0 || address >= this.size) {
+            return AddressStatus.OUT_OF_RANGE;
+        }
+        if(!isSet(this.program, address)) {
+            set(this.program, address);
+            this.programWords++;
+        }
+        return isSet(this.data, address) ? AddressStatus.OVERLAP : AddressStatus.OK;
+    }
+
+    /**
+     * Returns the lowest data address.
+     * @return the address as <code>int</code>, -1 if there is no data
+     */
+    public int firstData() {
+        return this.nextData(0);
+    }
+
+    /**
+     * Returns the next data address from a given address.
+     * @param from the address to start the search with, included
+     * @return the address as <code>int</code>, -1 if there is no more data
+     */
+    public int nextData(int from) {
+        if(from >= this.size) {
+            return -1;
+        }
+        int index = from >>> 6;
+        long word = this.data[index] & (-1L << from);
+        while (word == 0) {
+            if(++index == this.data.length) {
+                return -1;
+            }
+            word = this.data[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    // Getters
+    public int getSize() { return this.size; }
+    public int getProgramWords() { return this.programWords; }
+    public int getDataWords() { return this.dataWords; }
+    public boolean isProgram(int address) { return isSet(this.program, address); }
+    public boolean isData(int address) { return isSet(this.data, address); }
+
+    /**
+     * Getting the data address range, from the lowest data address to the end of the RAM.
+     * @return the range as {@link DataRange}, starting at -1 if there is no data
+     */
+    public DataRange getDataRange() {
+        return new DataRange(this.firstData(), this.size - 1);
+    }
+
+    /**
+     * Getting the program address range.
+     * @return the range as {@link DataRange}
+     */
+    public DataRange getProgramRange() {
+        return new DataRange(0, this.programWords);
+    }
+
+    private static boolean isSet(long[] bits, int address) {
+        return (bits[address >>> 6] & (1L << address)) != 0;
+    }
+
+    private static void set(long[] bits, int address) {
+        bits[address >>> 6] |= 1L << address;
+    }
+}
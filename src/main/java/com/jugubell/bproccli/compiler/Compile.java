@@ -1,7 +1,7 @@
 /*
  * File: Compile.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 08:23
  *
  * This file: Compile.java is part of BProC-CLI project.
  *
@@ -23,281 +23,249 @@
 
 package com.jugubell.bproccli.compiler;
 
-import com.jugubell.bproccli.utils.Globals;
-import com.jugubell.bproccli.utils.Instruction;
+import com.jugubell.bproccli.cli.CommandLineOption;
+import com.jugubell.bproccli.files.Emitter;
+import com.jugubell.bproccli.format.*;
+import com.jugubell.bproccli.utils.InstructionSet;
 import com.jugubell.bproccli.utils.LineType;
-import com.jugubell.bproccli.utils.Utils;
 
-import java.util.ArrayList;
+import java.nio.ByteOrder;
 import java.util.Arrays;
-import java.util.List;
-import java.util.TreeMap;
 
 /**
  * Compile utility
  * <p>It compiles the assembler code into binary/hexadecimal</p>
+ * <p>The rows of the {@link IntermediateCode} are encoded one by one with {@link #encode(int)}
+ * as soon as they are verified, so the encoding runs along the reading of the source.
+ * A JMP to a label already defined is encoded right away, a JMP to a label defined later
+ * (forward reference) is recorded and back-patched by {@link #finish(ProgramMetadata)}.
+ * A LDD instruction is encoded as a load of A from its constant in the {@link ConstantPool},
+ * it is back-patched once the pool is placed after the program.
+ * The words are placed into a {@link MemoryImage} of the whole RAM, kept until the output formats
+ * are encoded from it by an {@link Emitter} of the {@link com.jugubell.bproccli.format} package.</p>
+ * <p>The words are encoded for the RAM {@link Geometry}, 4096 words of 16 bits by default.</p>
  * @author Jugurtha Bellagh
  */
 public class Compile {
-
-    private List<String> code;
-    private TreeMap<Integer, LineType> codeLineType;
+    private final IntermediateCode code;
+    private final SymbolTable symbols;
+    private final ConstantPool constants;
     private ProgramMetadata programMetadata;
 
-    private final List<LineType> instr = Arrays.asList(LineType.INSTR, LineType.INSTR_I, LineType.INSTR_nI, LineType.JUMP);
-    private TreeMap<String, Instruction> instSet = new Globals().getInstset();
-    private List<String> program = new ArrayList<>();
-    private TreeMap<Integer, String> data = new TreeMap<>();
-    private TreeMap<String, Integer> labelIndex = new TreeMap<>();
-
-    private List<String> hexFileContent = new ArrayList<>();
-    private List<String> hexFileCompiled = new ArrayList<>();
-
-    public Compile(List<String> code, TreeMap<Integer, LineType> codeLineType, ProgramMetadata programMetadata) {
-        this.programMetadata = programMetadata;
-        this.code = code;
-        this.codeLineType = codeLineType;
-        this.generateProgramMemory();
-        this.generateDataMemory();
-        this.generateHexFileContent();
-    }
-
-    // Getters
-    public List<String> getHexFileHexV3() {
-        this.compileForHexV3File();
-        return this.hexFileCompiled;
-    }
+    private final int binOpCode;
+    private final int loadOpCode;
+    private final Geometry geometry;
+    private final MemoryImage image;
+    private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+    private boolean trim = false;
+    private int programCounter = 0;
 
-    public List<String> getHexFileVhdl() {
-        this.compileForVhdlFile();
-        return this.hexFileCompiled;
-    }
+    // forward references: program address and symbol id of the JMP to patch
+    private int[] patchAddress = new int[16];
+    private int[] patchSymbol = new int[16];
+    private int patchCount = 0;
 
-    public List<String> getHexFileVerilog() {
-        this.compileForVerilogFile();
-        return this.hexFileCompiled;
-    }
+    // LDD instructions: program address and constant id to patch
+    private int[] immediateAddress = new int[16];
+    private int[] immediateConstant = new int[16];
+    private int immediateCount = 0;
 
     /**
-     * Compiles into hexadecimal or binary according to isHex
-     * then return the file
-     * @param isHex boolean true for getting in hexadecimal format, if false binary format is used
-     * @return the bin or hex file as <code>List</code>
+     * Constructor of {@link Compile} for an incremental compilation.
+     * The rows are passed with {@link #encode(int)} then the compilation
+     * is completed with {@link #finish(ProgramMetadata)}.
+     * @param code the intermediate code filled by {@link VerifySyntax}
      */
-    public List<String> getHexFileHex(boolean isHex) {
-        this.compileForHexFile(isHex);
-        return this.hexFileCompiled;
+    public Compile(IntermediateCode code) {
+        this(code, Geometry.DEFAULT, InstructionSet.BUILT_IN);
     }
 
     /**
-     * Getting a <code>List</code> of code line type of every line
-     * @return <code>TreeMap</code> of line index, line type.
+     * Constructor of {@link Compile} for an incremental compilation, a RAM geometry and an instruction set.
+     * @param code the intermediate code filled by {@link VerifySyntax}
+     * @param geometry the RAM geometry, the same as the one of the {@link VerifySyntax}
+     * @param instructionSet the instruction set, giving the opcodes of the JMP and LDD instructions
      */
-    public TreeMap<Integer, LineType> getCodeLineType() {
-        return this.codeLineType;
+    public Compile(IntermediateCode code, Geometry geometry, InstructionSet instructionSet) {
+        this.code = code;
+        this.geometry = geometry;
+        this.binOpCode = instructionSet.getBranchOpCode();
+        this.loadOpCode = instructionSet.getLoadOpCode();
+        this.image = new MemoryImage(geometry);
+        this.symbols = code.getSymbols();
+        this.constants = code.getConstants();
     }
 
     /**
-     * Generating the Hex file content.
-     * <p>The key method of compilation, it converts the program and data into an hex file.
-     * It looks if there is a data declaration, then it reserves the data range according
-     * to the lowest address of the declared data. The remaining range from the first address
-     * is for the program.
-     * The range overlap and allowed data declaration are handled in {@link VerifySyntax} class.
-     * It writes the {@link #hexFileContent} attribute.</p>
+     * Constructor of {@link Compile} for an already verified code.
+     * @param code the verified code as {@link IntermediateCode}, filled by {@link VerifySyntax}
+     * @param programMetadata the program metadata calculated by {@link VerifySyntax}
      */
-    private void generateHexFileContent() {
-
-        List<String> hexFile = new ArrayList<>();
-
-        int endOfProgram = 0;
-
-        // is there .data declaration
-        if(this.programMetadata.getHasDataDeclaration()) {
-            endOfProgram = this.programMetadata.getFirstDataMemory()-1;
-        } else {
-            endOfProgram = 4095;
+    public Compile(IntermediateCode code, ProgramMetadata programMetadata) {
+        this(code);
+        for (int r = 0; r < code.size(); r++) {
+            this.encode(r);
         }
+        this.finish(programMetadata);
+    }
 
-        // write program
-        for (int i = 0; i < endOfProgram + 1; i++) {
-            if(i < this.programMetadata.getProgramMemoryUsage()) {
-                hexFile.add(this.program.get(i));
-            } else {
-                hexFile.add("0000");
+    /**
+     * Encodes a row of the {@link IntermediateCode}.
+     * <p>A label takes the address of the next instruction.
+     * The instructions are converted into their opcodes, the JMP instruction is converted
+     * into the BIN opcode where the address of the BIN is the label address.
+     * The declared data is put at its address.
+     * The rows out of the RAM are ignored, they are reported by {@link VerifySyntax}.</p>
+     * @param row the row index
+     */
+    public void encode(int row) {
+        LineType lineType = this.code.getLineType(row);
+
+        if(lineType == LineType.LABEL || lineType == LineType.START) {
+            this.symbols.setAddress(this.code.getOperand(row), this.programCounter);
+        } else if(lineType == LineType.DATA) {
+            int address = this.code.getOperand(row);
+            if(address < this.geometry.getDepth()) {
+                this.image.set(address, this.code.getWord(row));
+            }
+        } else if(this.code.isInstruction(row)) {
+            int address = this.programCounter++;
+            if(address >= this.geometry.getDepth()) {
+                return;
             }
-        }
 
-        // write data
-        if(this.programMetadata.getHasDataDeclaration()) {
-            for (int i = endOfProgram+1; i < 4096; i++) {
-                hexFile.add(this.data.getOrDefault(i, "0000"));
+            if(lineType == LineType.IMMEDIATE) {
+                this.addImmediate(address, this.code.getOperand(row));
+            } else if(lineType == LineType.JUMP) {
+                int symbol = this.code.getOperand(row);
+                if(this.symbols.getAddress(symbol) == SymbolTable.UNDEFINED) {
+                    this.addPatch(address, symbol);
+                } else {
+                    this.image.set(address, this.geometry.encode(this.binOpCode, false, this.symbols.getAddress(symbol)));
+                }
+            } else {
+                // the operand is 0 for the instructions without operand
+                this.image.set(address, this.geometry.encode(this.code.getWord(row), this.code.isIndirect(row), this.code.getOperand(row)));
             }
         }
-
-        //write the file
-        this.hexFileContent.clear();
-        this.hexFileContent = hexFile;
     }
 
     /**
-     * Generates the Hex V3 file format from {@link #hexFileContent}
+     * Completes the compilation once every row is encoded.
+     * It back-patches the forward JMP references with the label addresses,
+     * writes the constant pool and back-patches the LDD instructions with the constant addresses.
+     * @param programMetadata the program metadata calculated by {@link VerifySyntax}
      */
-    private void compileForHexV3File() {
-        List<String> hexFile = new ArrayList<>();
-        String[] line = new String[16];
-        // header
-        hexFile.add("v3.0 hex words addressed");
-
-        for (int i = 0; i < 0xfff; i += 16) {
-            for (int j = 0; j < 16; j++) {
-                line[j] = this.hexFileContent.get(i+j);
-            }
-            hexFile.add(String.format("%03x", i) + ": " + String.join(" ", line));
+    public void finish(ProgramMetadata programMetadata) {
+        this.programMetadata = programMetadata;
+        for (int i = 0; i < this.patchCount; i++) {
+            this.image.set(this.patchAddress[i], this.geometry.encode(this.binOpCode, false, this.symbols.getAddress(this.patchSymbol[i])));
         }
+        this.patchCount = 0;
 
-        this.hexFileCompiled.clear();
-        this.hexFileCompiled = hexFile;
+        for (int c = 0; c < this.constants.size(); c++) {
+            // the constants of the LDD instructions removed by the optimizer are not placed
+            if(this.constants.getAddress(c) != ConstantPool.UNPLACED)
+                this.image.set(this.constants.getAddress(c), this.constants.getValue(c));
+        }
+        for (int i = 0; i < this.immediateCount; i++) {
+            int address = this.constants.getAddress(this.immediateConstant[i]);
+            this.image.set(this.immediateAddress[i], this.geometry.encode(this.loadOpCode, false, address));
+        }
+        this.immediateCount = 0;
     }
 
     /**
-     * Generate a signal RAM init for VHDL code from {@link #hexFileContent}
+     * Getting the emitter of an output format.
+     * @param option the output format as {@link CommandLineOption}
+     * @return the {@link Emitter} writing the format
      */
-    private void compileForVhdlFile() {
-        List<String> hexFile = new ArrayList<>();
-        String hexCode = "";
-
-        hexFile.add("-- program RAM");
-        hexFile.add("signal RAM: RAM_ARRAY_16b (0 to 4095) := (");
-        for (int i = 0; i < this.hexFileContent.size(); i++) {
-            hexCode = this.hexFileContent.get(i);
-            if(!hexCode.equals("0000")) {
-                hexFile.add("    " + i + " => x\"" + hexCode.toUpperCase() + "\",");
-            }
+    public Emitter getEmitter(CommandLineOption option) {
+        switch (option) {
+            case HEXV3:
+                return new HexV3Encoder(this.image);
+            case HEX:
+                return new HexEncoder(this.image);
+            case VHDL:
+                return new VhdlEncoder(this.image);
+            case VERILOG:
+                return new VerilogEncoder(this.image);
+            case RAW:
+                return new RawEncoder(this.image, this.byteOrder, this.trim);
+            case IHEX:
+                return new IntelHexEncoder(this.image, this.byteOrder);
+            case SREC:
+                return new SRecordEncoder(this.image, this.byteOrder);
+            case MEM:
+                return new MemEncoder(this.image);
+            case MIF:
+                return new MifEncoder(this.image);
+            case COE:
+                return new CoeEncoder(this.image);
+            default:
+                return new BinEncoder(this.image);
         }
-
-        hexFile.add("    others => x\"0000\"");
-        hexFile.add(");");
-        hexFile.add("");
-
-        this.hexFileCompiled.clear();
-        this.hexFileCompiled = hexFile;
     }
 
-    private void compileForVerilogFile() {
-        List<String> hexFile = new ArrayList<>();
-        String hexCode = "";
-
-        hexFile.add("// program RAM");
-        hexFile.add("initial begin");
-        hexFile.add("    integer i;");
-        hexFile.add("    for(i = 0; i < 4096; i = i + 1) begin");
-        hexFile.add("        ram[i] = 16'h0000;");
-        hexFile.add("    end");
-        hexFile.add("");
-        for (int i = 0; i < this.hexFileContent.size(); i++) {
-            hexCode = this.hexFileContent.get(i);
-            if(!hexCode.equals("0000")) {
-                hexFile.add("    ram[" + i + "] = 16'h" + hexCode.toUpperCase() + ";");
-            }
-        }
+    // Setters
 
-        hexFile.add("end");
-        hexFile.add("");
-
-        this.hexFileCompiled.clear();
-        this.hexFileCompiled = hexFile;
+    /**
+     * Setting the byte order of the words in the raw binary image and the record formats.
+     * @param byteOrder big endian by default
+     */
+    public void setByteOrder(ByteOrder byteOrder) {
+        this.byteOrder = byteOrder;
     }
 
     /**
-     * Generate an hex or binary file from {@link #hexFileContent}
-     * @param isHex boolean true for hexadecimal format, if false binary is used
+     * Setting if the raw binary image stops after the last non-zero word.
+     * @param trim boolean true to trim the trailing zero words
      */
-    private void compileForHexFile(boolean isHex) {
-        this.hexFileCompiled.clear();
-        if(isHex) {
-            this.hexFileCompiled.addAll(this.hexFileContent);
-        } else {
-            this.hexFileCompiled.addAll(Utils.hexFile2binFile(this.hexFileContent));
-        }
+    public void setTrim(boolean trim) {
+        this.trim = trim;
     }
 
     /**
-     * Generating the labels index for the JMP instruction.
+     * Getting the compiled intermediate code
+     * @return the code as {@link IntermediateCode}
      */
-    private void generateLabelIndex() {
-        int programIndex = 0;
-        TreeMap<String, Integer> labelIndex = new TreeMap<>();
-        for (int i = 0; i < this.code.size(); i++) {
-            if(this.codeLineType.get(i) == LineType.LABEL || this.codeLineType.get(i) == LineType.START) {
-                labelIndex.put(Utils.cleanLabel(this.code.get(i)), programIndex);
-            }
-
-            if(this.instr.contains(this.codeLineType.get(i))) {
-                programIndex++;
-            }
-
-        }
-        this.labelIndex.clear();
-        this.labelIndex = labelIndex;
+    public IntermediateCode getCode() {
+        return this.code;
     }
 
     /**
-     * Program generation
-     * <p>It generates the program by converting the instructions into the opcodes.
-     * For the JMP instruction, it will be converted into the BIN opcode where
-     * the address of the BIN is the label index.<br/>
-     * This method has to generate the label indexes first with {@link #generateLabelIndex()}.
-     * It writes on {@link #program} field.</p>
+     * Getting the compiled RAM image.
+     * The program is placed from the address 0, the data at the declared addresses.
+     * The range overlap and allowed data declaration are handled in {@link VerifySyntax} class.
+     * @return the image as {@link MemoryImage}
      */
-    private void generateProgramMemory() {
-        this.generateLabelIndex();
-        for (int i = 0; i < this.code.size(); i++) {
-            if(this.instr.contains(this.codeLineType.get(i))) {
-                String line = this.code.get(i);
-                Integer opCode = this.instSet.get(this.getInstruction(line)).getOpCode();
-                boolean hasOperand = this.instSet.get(this.getInstruction(line)).getHasOperand();
-                if(this.codeLineType.get(i) == LineType.INSTR_I) {
-                    opCode = opCode + 0x8000;
-                }
-                if(hasOperand) {
-                    opCode = opCode + Utils.getDataAddressInt(line);
-                }
-                if(this.codeLineType.get(i) == LineType.JUMP) {
-                    opCode = this.instSet.get("BIN").getOpCode() + this.labelIndex.get(Utils.getLabelFromJmp(this.code.get(i)));
-                }
-                this.program.add(Integer.toHexString(opCode));
-            }
-        }
+    public MemoryImage getImage() {
+        return this.image;
     }
 
     /**
-     * Data generation
-     * <p>It generates the data range by putting the declared data into the right address
-     * relatively.
-     * It writes on the {@link #data} field</p>
+     * Records a LDD instruction, patched once the constant pool is placed.
      */
-    private void generateDataMemory() {
-        for (int i = 0; i < this.code.size(); i++) {
-            if(this.codeLineType.get(i) == LineType.DATA) {
-                this.data.put(Utils.getDataAddressInt(this.code.get(i)), Utils.getDataData(this.code.get(i)));
-            }
+    private void addImmediate(int address, int constant) {
+        if(this.immediateCount == this.immediateAddress.length) {
+            this.immediateAddress = Arrays.copyOf(this.immediateAddress, this.immediateCount * 2);
+            this.immediateConstant = Arrays.copyOf(this.immediateConstant, this.immediateCount * 2);
         }
+        this.immediateAddress[this.immediateCount] = address;
+        this.immediateConstant[this.immediateCount] = constant;
+        this.immediateCount++;
     }
 
     /**
-     * Extracting the used instruction in a given line by trimming the syntax.
-     * @param line the code line in <code>String</code>
-     * @return the name of the instruction in a <code>String</code>
+     * Records a JMP to a label not defined yet.
      */
-    private String getInstruction(String line) {
-        String instr = line.split(" ")[0].toUpperCase();
-        if(!instr.isEmpty() && this.instSet.containsKey(instr)) {
-            return instr;
-        } else {
-            return "";
+    private void addPatch(int address, int symbol) {
+        if(this.patchCount == this.patchAddress.length) {
+            this.patchAddress = Arrays.copyOf(this.patchAddress, this.patchCount * 2);
+            this.patchSymbol = Arrays.copyOf(this.patchSymbol, this.patchCount * 2);
         }
+        this.patchAddress[this.patchCount] = address;
+        this.patchSymbol[this.patchCount] = symbol;
+        this.patchCount++;
     }
 }
-
-
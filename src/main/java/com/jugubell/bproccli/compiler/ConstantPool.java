@@ -0,0 +1,130 @@
+/*
+ * File: ConstantPool.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:44
+ *
+ * This file: ConstantPool.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+
+package com.jugubell.bproccli.compiler;
+
+import java.util.Arrays;
+
+/**
+ * Constant pool of the LDD immediate instructions.
+ * <p>The literals of the LDD instructions are interned into an open-addressing hash table
+ * (linear probing), so a literal used by several LDD instructions takes a single word.
+ * Each distinct literal gets a constant id, in the order of its first use.</p>
+ * <p>The addresses of the constants are set by {@link VerifySyntax} once the program size is known:
+ * the pool is packed right after the program, skipping the declared data. {@link Compile} then
+ * writes the constants and back-patches the LDD instructions with their addresses.</p>
+ * @author Jugurtha Bellagh
+ */
+public class ConstantPool {
+    /** Address of a constant not placed yet. */
+    public static final int UNPLACED = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // hash slots holding constant id + 1, 0 for an empty slot
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    // constant columns
+    private int count = 0;
+    private int[] value = new int[INITIAL_CAPACITY];
+    private int[] address = new int[INITIAL_CAPACITY];
+
+    /**
+     * Interns a literal.
+     * @param literal the literal value
+     * @return the constant id of the literal, created if the literal is new
+     */
+    public int intern(int literal) {
+        int mask = this.slots.length - 1;
+
+        for (int i = hash(literal) & mask; ; i = (i + 1) & mask) {
+            int slot = this.slots[i];
+            if (slot == 0) {
+                int constant = this.create(literal);
+                this.slots[i] = constant + 1;
+                if (this.count * 2 > this.slots.length) {
+                    this.rehash();
+                }
+                return constant;
+            }
+            if (this.value[slot - 1] == literal) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * Empties the pool.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, 0);
+        this.count = 0;
+    }
+
+    // Setters
+    public void setAddress(int constant, int address) {
+        this.address[constant] = address;
+    }
+
+    // Getters
+    public int size() { return this.count; }
+    public int getValue(int constant) { return this.value[constant]; }
+    public int getAddress(int constant) { return this.address[constant]; }
+
+    /**
+     * Creating a new constant.
+     * @return the new constant id
+     */
+    private int create(int literal) {
+        if (this.count == this.value.length) {
+            int capacity = this.count * 2;
+            this.value = Arrays.copyOf(this.value, capacity);
+            this.address = Arrays.copyOf(this.address, capacity);
+        }
+        int constant = this.count++;
+        this.value[constant] = literal;
+        this.address[constant] = UNPLACED;
+        return constant;
+    }
+
+    /**
+     * Doubling the hash slots and placing the constants again.
+     */
+    private void rehash() {
+        this.slots = new int[this.slots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int c = 0; c < this.count; c++) {
+            int i = hash(this.value[c]) & mask;
+            while (this.slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            this.slots[i] = c + 1;
+        }
+    }
+
+    private static int hash(int literal) {
+        int h = literal * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
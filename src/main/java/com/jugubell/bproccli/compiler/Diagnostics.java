@@ -0,0 +1,120 @@
+/*
+ * File: Diagnostics.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:52
+ *
+ * This file: Diagnostics.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.console.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collector of the errors found while verifying the code.
+ * <p>The verification keeps going after an error, so every error is reported
+ * in one run, until the maximum number of errors is reached.
+ * The errors are logged sorted by line number, the errors not related
+ * to a line are logged after them.</p>
+ * @author Jugurtha Bellagh
+ */
+public class Diagnostics {
+    /** Default maximum number of errors collected before stopping. */
+    public static final int DEFAULT_MAX_ERRORS = 50;
+
+    private static final int NO_LINE = Integer.MAX_VALUE;
+
+    private final int maxErrors;
+    private final List<String> messages = new ArrayList<>();
+    private int[] lines = new int[16];
+
+    /**
+     * Constructor of {@link Diagnostics} with the default maximum number of errors.
+     */
+    public Diagnostics() {
+        this(DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * Constructor of {@link Diagnostics}
+     * @param maxErrors the maximum number of errors collected, at least 1
+     */
+    public Diagnostics(int maxErrors) {
+        this.maxErrors = Math.max(maxErrors, 1);
+    }
+
+    /**
+     * Adds an error related to a code line.
+     * The error is ignored if the maximum number of errors is already reached.
+     * @param line the line number, starting from 1
+     * @param message the error message
+     * @return boolean true if the maximum number of errors is reached
+     */
+    public boolean error(int line, String message) {
+        if(!this.isFull()) {
+            if(this.messages.size() == this.lines.length) {
+                this.lines = Arrays.copyOf(this.lines, this.lines.length * 2);
+            }
+            this.lines[this.messages.size()] = line;
+            this.messages.add(message);
+        }
+        return this.isFull();
+    }
+
+    /**
+     * Adds an error not related to a code line.
+     * @param message the error message
+     * @return boolean true if the maximum number of errors is reached
+     */
+    public boolean error(String message) {
+        return this.error(NO_LINE, message);
+    }
+
+    /**
+     * Logs the collected errors sorted by line number, followed by a summary.
+     */
+    public void report() {
+        int count = this.messages.size();
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        // stable sort, the errors of a same line stay in the detection order
+        Arrays.sort(order, (a, b) -> Integer.compare(this.lines[a], this.lines[b]));
+
+        for (Integer i : order) {
+            Log.error(this.messages.get(i));
+        }
+
+        if(this.isFull() && this.maxErrors > 1) {
+            Log.error("[ERROR] Verification stopped after " + count + " errors.");
+        } else if(count > 1) {
+            Log.error("[ERROR] " + count + " errors found.");
+        }
+    }
+
+    // Getters
+    public int getErrorCount() { return this.messages.size(); }
+    public int getMaxErrors() { return this.maxErrors; }
+    public boolean hasErrors() { return !this.messages.isEmpty(); }
+    public boolean isFull() { return this.messages.size() >= this.maxErrors; }
+}
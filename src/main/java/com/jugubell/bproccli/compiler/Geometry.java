@@ -0,0 +1,139 @@
+/*
+ * File: Geometry.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: Geometry.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+/**
+ * Geometry of the RAM: the depth in words and the width of a word in bits.
+ * <p>The depth is a power of 2 from 4096 (12 bits address) to 1M words (20 bits address).
+ * An instruction word holds the indirect bit and the 3 bits opcode in its upper nibble,
+ * and the address in its lower bits, so the width is at least the address bits + 4,
+ * and at most 32 bits. The default geometry is 4096 words of 16 bits.</p>
+ * <p>The opcodes of the instruction set are written for 16 bits words: the upper nibble
+ * is moved to the upper nibble of the word, the lower 12 bits (register and I/O operations)
+ * are kept in place.</p>
+ * @author Jugurtha Bellagh
+ */
+public class Geometry {
+    public static final int MIN_DEPTH = 1 << 12;
+    public static final int MAX_DEPTH = 1 << 20;
+    public static final int MAX_WIDTH = 32;
+
+    /** The default geometry, 4096 words of 16 bits. */
+    public static final Geometry DEFAULT = new Geometry(MIN_DEPTH, 16);
+
+    private final int depth;
+    private final int width;
+    private final int addressBits;
+
+    /**
+     * Constructor of {@link Geometry}, the values are expected to be checked with {@link #isValid(int, int)}
+     * @param depth the number of words
+     * @param width the number of bits of a word
+     */
+    public Geometry(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.addressBits = Integer.numberOfTrailingZeros(depth);
+    }
+
+    /**
+     * Checks a geometry.
+     * @param depth the number of words, a power of 2 from {@link #MIN_DEPTH} to {@link #MAX_DEPTH}
+     * @param width the number of bits of a word, from the address bits + 4 to {@link #MAX_WIDTH}
+     * @return boolean true if the geometry is supported
+     */
+    public static boolean isValid(int depth, int width) {
+        if(depth < MIN_DEPTH || depth > MAX_DEPTH || Integer.bitCount(depth) != 1) {
+            return false;
+        }
+        return width >= defaultWidth(depth) && width <= MAX_WIDTH;
+    }
+
+    /**
+     * Getting the default width of a depth: the address bits + 4.
+     * @param depth the number of words
+     * @return the width in bits
+     */
+    public static int defaultWidth(int depth) {
+        return Integer.numberOfTrailingZeros(depth) + 4;
+    }
+
+    /**
+     * Encodes an instruction word.
+     * @param opCode the 16 bits opcode of the instruction set
+     * @param indirect boolean true for the indirect addressing mode
+     * @param operand the address, 0 for the instructions without operand
+     * @return the word as <code>int</code>
+     */
+    public int encode(int opCode, boolean indirect, int operand) {
+        int word = (((opCode >>> 12) & 0xF) << (this.width - 4)) | (opCode & 0xFFF) | operand;
+        if(indirect) {
+            word |= 1 << (this.width - 1);
+        }
+        return word;
+    }
+
+    // Getters
+    public int getDepth() { return this.depth; }
+    public int getWidth() { return this.width; }
+    public int getAddressBits() { return this.addressBits; }
+    public int getMaxAddress() { return this.depth - 1; }
+
+    /**
+     * Getting the mask of a word, for the data values.
+     * @return the highest word value
+     */
+    public long getMaxWord() {
+        return (1L << this.width) - 1;
+    }
+
+    /**
+     * Getting the number of hexadecimal digits of an address.
+     * @return the digits count
+     */
+    public int getAddressDigits() {
+        return (this.addressBits + 3) / 4;
+    }
+
+    /**
+     * Getting the number of hexadecimal digits of a word.
+     * @return the digits count
+     */
+    public int getWordDigits() {
+        return (this.width + 3) / 4;
+    }
+
+    /**
+     * Getting the number of bytes of a word, for the byte addressed formats.
+     * @return the bytes count
+     */
+    public int getWordBytes() {
+        return (this.width + 7) / 8;
+    }
+
+    @Override
+    public String toString() {
+        return this.depth + " words of " + this.width + " bits";
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * File: IntermediateCode.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:23
+ *
+ * This file: IntermediateCode.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.utils.LineType;
+
+import java.util.Arrays;
+
+/**
+ * Intermediate representation of the verified code.
+ * <p>It is a flat table of rows stored in parallel arrays, one row per non-empty code line.
+ * A row holds the line type, the word, the addressing flag, the resolved operand
+ * and the source line index. It is filled once by {@link VerifySyntax}
+ * and only read by {@link Compile}, so no line is tokenized twice.
+ * Every row is kept until the compilation ends, the table grows with the source.</p>
+ * <p>The word is the instruction opcode for instructions, and the declared value
+ * for <code>.data</code> lines. The operand is the address for instructions with an operand
+ * and for <code>.data</code> lines, the symbol id of the label in the {@link SymbolTable}
+ * for LABEL, START and JUMP rows, and the constant id of the literal in the {@link ConstantPool}
+ * for IMMEDIATE (LDD) rows.</p>
+ * <p>The rows removed by the {@link Optimizer} are kept as EL rows.</p>
+ * @author Jugurtha Bellagh
+ */
+public class IntermediateCode {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+    private LineType[] lineType;
+    private int[] word;
+    private boolean[] indirect;
+    private int[] operand;
+    private int[] sourceLine;
+    private final SymbolTable symbols = new SymbolTable();
+    private final ConstantPool constants = new ConstantPool();
+
+    /**
+     * Constructor of {@link IntermediateCode} with a default capacity.
+     */
+    public IntermediateCode() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor of {@link IntermediateCode}
+     * @param capacity the expected number of rows
+     */
+    public IntermediateCode(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.lineType = new LineType[capacity];
+        this.word = new int[capacity];
+        this.indirect = new boolean[capacity];
+        this.operand = new int[capacity];
+        this.sourceLine = new int[capacity];
+    }
+
+    /**
+     * Appends a row to the table.
+     * @param type the line type as {@link LineType}
+     * @param word the opcode of the instruction or the value of the data
+     * @param indirect boolean true if the operand is in indirect mode
+     * @param operand the address operand, or the symbol id
+     * @param sourceLine the index of the line in the source code
+     * @return the index of the added row
+     */
+    public int add(LineType type, int word, boolean indirect, int operand, int sourceLine) {
+        if (this.size == this.lineType.length) {
+            this.grow();
+        }
+        int row = this.size++;
+        this.lineType[row] = type;
+        this.word[row] = word;
+        this.indirect[row] = indirect;
+        this.operand[row] = operand;
+        this.sourceLine[row] = sourceLine;
+        return row;
+    }
+
+    /**
+     * Tombstones a row removed by the {@link Optimizer}.
+     * The row becomes an empty line, it takes no word and its index stays valid.
+     * @param row the row index
+     */
+    public void remove(int row) {
+        this.lineType[row] = LineType.EL;
+    }
+
+    /**
+     * Changes the word of a row, as the opcode of an instruction rewritten by the {@link Optimizer}.
+     * @param row the row index
+     * @param word the opcode of the instruction
+     */
+    public void setWord(int row, int word) {
+        this.word[row] = word;
+    }
+
+    /**
+     * Changes the operand of a row, as the label of a JMP threaded by the {@link Optimizer}.
+     * @param row the row index
+     * @param operand the address operand, or the symbol id
+     */
+    public void setOperand(int row, int operand) {
+        this.operand[row] = operand;
+    }
+
+    /**
+     * Empties the table and its symbols.
+     */
+    public void clear() {
+        this.size = 0;
+        this.symbols.clear();
+        this.constants.clear();
+    }
+
+    // Getters
+    public int size() { return this.size; }
+    public LineType getLineType(int row) { return this.lineType[row]; }
+    public int getWord(int row) { return this.word[row]; }
+    public boolean isIndirect(int row) { return this.indirect[row]; }
+    public int getOperand(int row) { return this.operand[row]; }
+    public int getSourceLine(int row) { return this.sourceLine[row]; }
+    public SymbolTable getSymbols() { return this.symbols; }
+    public ConstantPool getConstants() { return this.constants; }
+
+    /**
+     * Checks if a row takes a word in the program memory.
+     * Counted line types are INSTR, INSTR_I, INSTR_nI, JUMP, IMMEDIATE
+     * @param row the row index
+     * @return boolean true if the row is an instruction
+     */
+    public boolean isInstruction(int row) {
+        switch (this.lineType[row]) {
+            case INSTR:
+            case INSTR_I:
+            case INSTR_nI:
+            case JUMP:
+            case IMMEDIATE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Doubling the capacity of the columns.
+     */
+    private void grow() {
+        int capacity = this.lineType.length * 2;
+        this.lineType = Arrays.copyOf(this.lineType, capacity);
+        this.word = Arrays.copyOf(this.word, capacity);
+        this.indirect = Arrays.copyOf(this.indirect, capacity);
+        this.operand = Arrays.copyOf(this.operand, capacity);
+        this.sourceLine = Arrays.copyOf(this.sourceLine, capacity);
+    }
+}
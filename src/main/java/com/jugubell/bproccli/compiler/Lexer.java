@@ -0,0 +1,390 @@
+/*
+ * File: Lexer.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:23
+ *
+ * This file: Lexer.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.utils.InstructionSet;
+import com.jugubell.bproccli.utils.LineType;
+
+/**
+ * Char-level lexer of the code lines.
+ * <p>A line is scanned once, character by character, without creating substrings
+ * or regular expressions. The result of the last {@link #scan(CharSequence, int, int)}
+ * is kept in the lexer fields (line type, mnemonic id, addressing mode, operand, label span)
+ * and is overwritten by the next scan, so a single instance is reused for the whole code.</p>
+ * <p>The lines are expected to be trimmed from comments and uppercased,
+ * as done by {@link com.jugubell.bproccli.files.ReadAssemblerFile}.</p>
+ * @author Jugurtha Bellagh
+ */
+public class Lexer {
+    /** Mnemonic id returned when the line has no instruction. */
+    public static final int NO_MNEMONIC = -1;
+
+    private static final int MAX_TOKENS = 4;
+
+    // instruction table, the mnemonic ids are the ids of the instruction set
+    private final InstructionSet instructionSet;
+    private final int jmpId;
+    private final int lddId;
+
+    // RAM geometry: highest address, highest word and digits of a .data declaration
+    private final int maxAddress;
+    private final long maxWord;
+    private final int addressDigits;
+    private final int wordDigits;
+    private final String geometryName;
+    private final int wordBits;
+
+    // token spans of the current line
+    private final int[] tokenStart = new int[MAX_TOKENS];
+    private final int[] tokenEnd = new int[MAX_TOKENS];
+
+    // scan result
+    private LineType lineType = LineType.EL;
+    private int mnemonic = NO_MNEMONIC;
+    private boolean indirect;
+    private int operand;
+    private int value;
+    private int labelStart;
+    private int labelEnd;
+    private String error;
+
+    /**
+     * Constructor of {@link Lexer} for the default RAM geometry and the built-in instruction set.
+     */
+    public Lexer() {
+        this(Geometry.DEFAULT, InstructionSet.BUILT_IN);
+    }
+
+    /**
+     * Constructor of {@link Lexer}
+     * @param geometry the RAM geometry, giving the operands range and the <code>.data</code> digits
+     * @param instructionSet the instruction set of the mnemonics
+     */
+    public Lexer(Geometry geometry, InstructionSet instructionSet) {
+        this.instructionSet = instructionSet;
+        this.jmpId = instructionSet.getJumpId();
+        this.lddId = instructionSet.getImmediateId();
+        this.maxAddress = geometry.getMaxAddress();
+        this.maxWord = geometry.getMaxWord();
+        this.addressDigits = geometry.getAddressDigits();
+        this.wordDigits = geometry.getWordDigits();
+        this.geometryName = geometry.toString();
+        this.wordBits = geometry.getWidth();
+    }
+
+    // Getters
+    public LineType getLineType() { return this.lineType; }
+    public int getMnemonic() { return this.mnemonic; }
+    public boolean isIndirect() { return this.indirect; }
+    public int getLabelStart() { return this.labelStart; }
+    public int getLabelEnd() { return this.labelEnd; }
+
+    /**
+     * Getting the detail of the syntax error of the scanned line, if any.
+     * @return the detail as <code>String</code>, null if the error has no detail
+     */
+    public String getError() { return this.error; }
+
+    /**
+     * Getting the numeric operand of the scanned line.
+     * @return the address of an instruction operand, the address of a <code>.data</code> declaration,
+     * or the literal of a LDD instruction
+     */
+    public int getOperand() { return this.operand; }
+
+    /**
+     * Getting the declared value of a <code>.data</code> line.
+     * @return the data as <code>int</code>, as wide as a word
+     */
+    public int getValue() { return this.value; }
+
+    /**
+     * Getting the opcode of a mnemonic id.
+     * @param mnemonic the mnemonic id as returned by {@link #getMnemonic()}
+     * @return the opcode as <code>int</code>
+     */
+    public int getOpCode(int mnemonic) {
+        return this.instructionSet.getOpCode(mnemonic);
+    }
+
+    /**
+     * Scans a whole line.
+     * @param line the code line
+     * @return the {@link LineType} of the line
+     */
+    public LineType scan(CharSequence line) {
+        return this.scan(line, 0, line.length());
+    }
+
+    /**
+     * Scans the characters <code>[start, end)</code> of a sequence as a code line.
+     * @param seq the sequence holding the line
+     * @param start index of the first character of the line
+     * @param end index after the last character of the line
+     * @return the {@link LineType} of the line, <code>SYNTAX_ERROR</code> if the line is not valid
+     */
+    public LineType scan(CharSequence seq, int start, int end) {
+        this.mnemonic = NO_MNEMONIC;
+        this.indirect = false;
+        this.operand = 0;
+        this.value = 0;
+        this.labelStart = 0;
+        this.labelEnd = 0;
+        this.error = null;
+        this.lineType = this.classify(seq, this.tokenize(seq, start, end));
+        return this.lineType;
+    }
+
+    /**
+     * Splits the line into token spans stored in {@link #tokenStart} and {@link #tokenEnd}.
+     * The tokens are separated by one or more spaces or tabs.
+     * @return the number of tokens, {@link #MAX_TOKENS} if there are too many
+     */
+    private int tokenize(CharSequence seq, int start, int end) {
+        int count = 0;
+        int i = start;
+        while (i < end) {
+            // skipping blanks
+            while (i < end && isBlank(seq.charAt(i)))
+                i++;
+            if(i == end)
+                break;
+            if(count == MAX_TOKENS)
+                return MAX_TOKENS;
+
+            this.tokenStart[count] = i;
+            while (i < end && !isBlank(seq.charAt(i)))
+                i++;
+            this.tokenEnd[count] = i;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns what type of line the tokens are.
+     * @param seq the sequence holding the line
+     * @param count the number of tokens
+     * @return a {@link LineType} according to the line type, otherwise <code>SYNTAX_ERROR</code>
+     */
+    private LineType classify(CharSequence seq, int count) {
+        // empty line
+        if(count == 0)
+            return LineType.EL;
+
+        int s0 = this.tokenStart[0];
+        int e0 = this.tokenEnd[0];
+
+        // label or start: label
+        if(seq.charAt(e0 - 1) == ':') {
+            if(count == 1 && isLabelName(seq, s0, e0 - 1)) {
+                this.labelStart = s0;
+                this.labelEnd = e0 - 1;
+                return regionEquals(seq, s0, e0 - 1, "START") ? LineType.START : LineType.LABEL;
+            }
+            return LineType.SYNTAX_ERROR;
+        }
+
+        // data declaration: .data <address> <data>, with the digits of an address and of a word,
+        // of the default geometry or of the RAM geometry, so the sources compile with any geometry
+        if(regionEquals(seq, s0, e0, ".DATA")) {
+            if(count == 3) {
+                long address = parseHex(seq, this.tokenStart[1], this.tokenEnd[1], 0);
+                long data = parseHex(seq, this.tokenStart[2], this.tokenEnd[2], 0);
+                if(address >= 0 && !this.isDigitCount(hexDigits(seq, this.tokenStart[1], this.tokenEnd[1]), Geometry.DEFAULT.getAddressDigits(), this.addressDigits)) {
+                    this.error = "The address needs " + digitCounts(Geometry.DEFAULT.getAddressDigits(), this.addressDigits) + " hexadecimal digits for " + this.geometryName + ".";
+                } else if(data >= 0 && !this.isDigitCount(hexDigits(seq, this.tokenStart[2], this.tokenEnd[2]), Geometry.DEFAULT.getWordDigits(), this.wordDigits)) {
+                    this.error = "The data needs " + digitCounts(Geometry.DEFAULT.getWordDigits(), this.wordDigits) + " hexadecimal digits for " + this.geometryName + ".";
+                } else if(address > this.maxAddress) {
+                    this.error = "The address is out of the RAM of " + this.geometryName + ".";
+                } else if(data > this.maxWord) {
+                    this.error = "The data does not fit in a word of " + this.wordBits + " bits.";
+                } else if(address >= 0 && data >= 0) {
+                    this.operand = (int) address;
+                    this.value = (int) data;
+                    return LineType.DATA;
+                }
+            }
+            return LineType.SYNTAX_ERROR;
+        }
+
+        // instructions
+        int id = this.instructionSet.lookup(seq, s0, e0);
+        if(id < 0)
+            return LineType.SYNTAX_ERROR;
+        this.mnemonic = id;
+
+        if(id == this.jmpId) {
+            if(count == 2) {
+                this.labelStart = this.tokenStart[1];
+                this.labelEnd = this.tokenEnd[1];
+                return LineType.JUMP;
+            }
+            return LineType.SYNTAX_ERROR;
+        }
+
+        // immediate value: LDD <literal>, as wide as a word
+        if(id == this.lddId) {
+            if(count == 2) {
+                long literal = parseHex(seq, this.tokenStart[1], this.tokenEnd[1], 0);
+                if(literal >= 0 && literal <= this.maxWord) {
+                    this.operand = (int) literal;
+                    return LineType.IMMEDIATE;
+                }
+            }
+            return LineType.SYNTAX_ERROR;
+        }
+
+        if(this.instructionSet.hasOperand(id)) {
+            if(count != 2)
+                return LineType.SYNTAX_ERROR;
+            LineType type = this.classifyOperand(seq, this.tokenStart[1], this.tokenEnd[1]);
+            return type == LineType.INSTR_I && !this.instructionSet.allowsIndirect(id) ? LineType.SYNTAX_ERROR : type;
+        } else {
+            return count == 1 ? LineType.INSTR : LineType.SYNTAX_ERROR;
+        }
+    }
+
+    /**
+     * Classifies the operand of an instruction as a direct <code>addr</code>
+     * or indirect <code>[addr]</code> address.
+     * @return <code>INSTR_nI</code>, <code>INSTR_I</code> or <code>SYNTAX_ERROR</code>
+     */
+    private LineType classifyOperand(CharSequence seq, int start, int end) {
+        LineType type = LineType.INSTR_nI;
+
+        // indirect address wrapped in []
+        if(seq.charAt(start) == '[' || seq.charAt(end - 1) == ']') {
+            if(end - start < 3 || seq.charAt(start) != '[' || seq.charAt(end - 1) != ']')
+                return LineType.SYNTAX_ERROR;
+            start++;
+            end--;
+            this.indirect = true;
+            type = LineType.INSTR_I;
+        }
+
+        long address = parseHex(seq, start, end, 0);
+        if(address < 0 || address > this.maxAddress)
+            return LineType.SYNTAX_ERROR;
+        this.operand = (int) address;
+        return type;
+    }
+
+    /**
+     * Parses a hexadecimal number written with the <code>0x</code> prefix or the <code>h</code> suffix.
+     * @param digits the exact number of digits required, 0 for any
+     * @return the value as <code>long</code>, or -1 if the number is not valid
+     */
+    private static long parseHex(CharSequence seq, int start, int end, int digits) {
+        boolean prefix = end - start > 2 && seq.charAt(start) == '0' && seq.charAt(start + 1) == 'X';
+        boolean suffix = end > start && seq.charAt(end - 1) == 'H';
+
+        // exactly one of prefix or suffix
+        if(prefix == suffix)
+            return -1;
+        if(prefix) {
+            start += 2;
+        } else {
+            end--;
+        }
+
+        int length = end - start;
+        if(length == 0 || length > 8 || (digits != 0 && length != digits))
+            return -1;
+
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int nibble = hexValue(seq.charAt(i));
+            if(nibble < 0)
+                return -1;
+            result = (result << 4) | nibble;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the digits of a valid hexadecimal number, without its prefix or suffix.
+     */
+    private static int hexDigits(CharSequence seq, int start, int end) {
+        return end - start - (seq.charAt(end - 1) == 'H' ? 1 : 2);
+    }
+
+    /**
+     * Checks if a number of digits is the one of the default geometry or the one of the RAM geometry.
+     */
+    private boolean isDigitCount(int digits, int defaultDigits, int geometryDigits) {
+        return digits == defaultDigits || digits == geometryDigits;
+    }
+
+    /**
+     * Writes the allowed numbers of digits for an error detail.
+     */
+    private static String digitCounts(int defaultDigits, int geometryDigits) {
+        return defaultDigits == geometryDigits ? String.valueOf(defaultDigits) : defaultDigits + " or " + geometryDigits;
+    }
+
+    /**
+     * Converts an hexadecimal digit to its value.
+     * @param c the digit
+     * @return the value, -1 if not an hexadecimal digit
+     */
+    public static int hexValue(char c) {
+        if(c >= '0' && c <= '9')
+            return c - '0';
+        if(c >= 'A' && c <= 'F')
+            return c - 'A' + 10;
+        if(c >= 'a' && c <= 'f')
+            return c - 'a' + 10;
+        return -1;
+    }
+
+    /**
+     * Checks the label name syntax: a letter or '_' followed by letters, digits or '_'.
+     */
+    private static boolean isLabelName(CharSequence seq, int start, int end) {
+        if(start == end)
+            return false;
+        for (int i = start; i < end; i++) {
+            char c = seq.charAt(i);
+            boolean letter = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_';
+            if(!letter && (i == start || c < '0' || c > '9'))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(CharSequence seq, int start, int end, String word) {
+        if(end - start != word.length())
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            if(seq.charAt(start + i) != word.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * File: Macro.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:46
+ *
+ * This file: Macro.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+
+package com.jugubell.bproccli.compiler;
+
+/**
+ * Macro defined with <code>.macro</code> and expanded by {@link MacroExpander}.
+ * <p>It holds the parameter names and the body lines as written between
+ * <code>.macro</code> and <code>.endm</code>.</p>
+ * @author Jugurtha Bellagh
+ */
+final class Macro {
+    /** Marker replaced by a unique suffix at each expansion, for the labels of the body. */
+    static final String UNIQUE = "\\@";
+
+    private final String name;
+    private final String[] params;
+    private final int line;
+    private String[] body;
+    private boolean unique;
+    private boolean expanding;
+
+    /**
+     * Constructor of {@link Macro}, the body is set at the end of the definition.
+     * @param name the macro name
+     * @param params the parameter names
+     * @param line the index of the <code>.macro</code> line in the source code
+     */
+    Macro(String name, String[] params, int line) {
+        this.name = name;
+        this.params = params;
+        this.line = line;
+    }
+
+    /**
+     * Setting the body of the macro.
+     * @param body the lines between <code>.macro</code> and <code>.endm</code>
+     */
+    void setBody(String[] body) {
+        this.body = body;
+        for (String l : body) {
+            this.unique |= l.contains(UNIQUE);
+        }
+    }
+
+    /**
+     * Substitutes the parameters of the body, written <code>\param</code>, with the arguments.
+     * The {@link #UNIQUE} marker is kept, it is replaced at each expansion.
+     * @param args the arguments, as many as the parameters
+     * @return the substituted body lines
+     */
+    String[] substitute(String[] args) {
+        String[] lines = new String[this.body.length];
+        StringBuilder sb = new StringBuilder();
+        for (int l = 0; l < this.body.length; l++) {
+            String text = this.body[l];
+            if(text.indexOf('\\') < 0) {
+                lines[l] = text;
+                continue;
+            }
+
+            sb.setLength(0);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int end = i + 1;
+                while (c == '\\' && end < text.length() && isNameChar(text.charAt(end)))
+                    end++;
+
+                int param = c == '\\' ? this.indexOfParam(text, i + 1, end) : -1;
+                if(param >= 0) {
+                    sb.append(args[param]);
+                    i = end - 1;
+                } else {
+                    sb.append(c);
+                }
+            }
+            lines[l] = sb.toString();
+        }
+        return lines;
+    }
+
+    // Setters
+    void setExpanding(boolean expanding) { this.expanding = expanding; }
+
+    // Getters
+    String getName() { return this.name; }
+    int getParamCount() { return this.params.length; }
+    int getLine() { return this.line; }
+    boolean isUnique() { return this.unique; }
+    boolean isExpanding() { return this.expanding; }
+
+    private int indexOfParam(String text, int start, int end) {
+        for (int p = 0; p < this.params.length; p++) {
+            if(this.params[p].length() == end - start && text.startsWith(this.params[p], start))
+                return p;
+        }
+        return -1;
+    }
+
+    static boolean isNameChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
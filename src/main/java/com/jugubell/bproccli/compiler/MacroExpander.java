@@ -0,0 +1,364 @@
+/*
+ * File: MacroExpander.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:46
+ *
+ * This file: MacroExpander.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.files.LineConsumer;
+import com.jugubell.bproccli.utils.InstructionSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Macro and repeat expansion stage, placed between the source reading and the {@link VerifySyntax}.
+ * <p>It expands the blocks below into code lines, the other lines are passed on unchanged:</p>
+ * <ul>
+ *     <li><code>.macro NAME [PARAM ...]</code> ... <code>.endm</code> defines a macro, a software
+ *     instruction made of several instructions. The line <code>NAME [ARG ...]</code> expands the body,
+ *     where <code>\PARAM</code> is replaced by its argument, and <code>\@</code> by a suffix unique to
+ *     the expansion, for the labels of the body.</li>
+ *     <li><code>.rept COUNT</code> ... <code>.endr</code> repeats the lines of the block COUNT times.</li>
+ * </ul>
+ * <p>The substituted body of a macro is cached per macro and arguments, so a macro used many times
+ * with the same arguments is substituted once. A macro can use another macro, but a macro
+ * expanding itself is an error. The expanded lines keep the source line of the macro call,
+ * so the errors of an expansion point to the call.</p>
+ * @author Jugurtha Bellagh
+ */
+public class MacroExpander implements LineConsumer {
+    /** Maximum count of a <code>.rept</code> block. */
+    public static final int MAX_REPEAT = 1 << 16;
+
+    private static final int MAX_DEPTH = 64;
+
+    private final LineConsumer next;
+    private final InstructionSet instructionSet;
+    private final Diagnostics diagnostics;
+    private final Map<String, Macro> macros = new HashMap<>();
+    private final Map<String, String[]> expansions = new HashMap<>();
+
+    // block being collected: a macro definition or a .rept block, with the source line of each line
+    private List<String> block;
+    private int[] blockLines = new int[16];
+    private int blockStart;
+    private Macro defining;
+    private int repeat;
+    private int nesting;
+
+    private int depth = 0;
+    private int uniqueCount = 0;
+    private boolean stopped = false;
+
+    /**
+     * Constructor of {@link MacroExpander}
+     * @param next the consumer of the expanded lines, usually the {@link VerifySyntax}
+     * @param instructionSet the instruction set, a macro can not be named as an instruction
+     * @param diagnostics the collector of the expansion errors
+     */
+    public MacroExpander(LineConsumer next, InstructionSet instructionSet, Diagnostics diagnostics) {
+        this.next = next;
+        this.instructionSet = instructionSet;
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Expands a trimmed code line.
+     * @param index the index of the line in the source code
+     * @param line the trimmed line
+     * @return boolean false if the next consumer stops the reading
+     */
+    @Override
+    public boolean accept(int index, CharSequence line) {
+        if(this.stopped)
+            return false;
+
+        int end = tokenEnd(line, 0);
+
+        // collecting the lines of a block
+        if(this.block != null) {
+            this.collect(index, line, end);
+            return !this.diagnostics.isFull();
+        }
+
+        if(end > 0 && line.charAt(0) == '.') {
+            if(regionEquals(line, end, ".MACRO")) {
+                this.define(index, line, end);
+                return !this.diagnostics.isFull();
+            }
+            if(regionEquals(line, end, ".REPT")) {
+                this.startRepeat(index, line, end);
+                return !this.diagnostics.isFull();
+            }
+            if(regionEquals(line, end, ".ENDM") || regionEquals(line, end, ".ENDR")) {
+                this.diagnostics.error(index + 1, "[ERROR] " + line.subSequence(0, end) + " without its opening block at line " + (index + 1) + ".");
+                return !this.diagnostics.isFull();
+            }
+        }
+
+        // a macro call: neither an instruction nor a label, the other lines are passed on
+        if(!this.macros.isEmpty() && end > 0 && line.charAt(end - 1) != ':'
+                && this.instructionSet.lookup(line, 0, end) == InstructionSet.NOT_FOUND) {
+            Macro macro = this.macros.get(line.subSequence(0, end).toString());
+            if(macro != null) {
+                this.expand(index, line, end, macro);
+                return !this.stopped && !this.diagnostics.isFull();
+            }
+        }
+        return this.forward(index, line);
+    }
+
+    /**
+     * Reports the block left open at the end of the source.
+     * To be called once every line is passed to {@link #accept(int, CharSequence)}.
+     */
+    public void finish() {
+        if(this.block != null) {
+            String directive = this.defining != null ? ".MACRO" : ".REPT";
+            this.diagnostics.error(this.blockStart + 1, "[ERROR] " + directive + " at line " + (this.blockStart + 1) + " is never closed.");
+            this.block = null;
+        }
+    }
+
+    /**
+     * Starts a macro definition: <code>.macro NAME [PARAM ...]</code>
+     */
+    private void define(int index, CharSequence line, int end) {
+        String[] tokens = tokens(line, end);
+        String error = null;
+
+        if(tokens.length == 0 || !isName(tokens[0])) {
+            error = "Invalid macro name";
+        } else if(this.instructionSet.lookup(tokens[0], 0, tokens[0].length()) != InstructionSet.NOT_FOUND) {
+            error = "The macro name " + tokens[0] + " is an instruction";
+        } else if(this.macros.containsKey(tokens[0])) {
+            error = "Duplicate macro " + tokens[0];
+        } else {
+            for (int p = 1; p < tokens.length && error == null; p++) {
+                if(!isName(tokens[p]) || Arrays.asList(tokens).subList(1, p).contains(tokens[p]))
+                    error = "Invalid or duplicate macro parameter " + tokens[p];
+            }
+        }
+        if(error != null)
+            this.diagnostics.error(index + 1, "[ERROR] " + error + " at line " + (index + 1) + ".");
+
+        // an invalid definition is still collected until .endm, it is not registered
+        String name = tokens.length == 0 ? "" : tokens[0];
+        this.defining = new Macro(error == null ? name : null, tokens.length == 0 ? tokens : Arrays.copyOfRange(tokens, 1, tokens.length), index);
+        this.startBlock(index);
+    }
+
+    /**
+     * Starts a repeat block: <code>.rept COUNT</code>
+     */
+    private void startRepeat(int index, CharSequence line, int end) {
+        String[] tokens = tokens(line, end);
+        this.repeat = tokens.length == 1 ? parseCount(tokens[0]) : -1;
+        if(this.repeat < 0)
+            this.diagnostics.error(index + 1, "[ERROR] Invalid .rept count at line " + (index + 1) + ", from 0 to " + MAX_REPEAT + " expected.");
+
+        this.defining = null;
+        this.startBlock(index);
+    }
+
+    private void startBlock(int index) {
+        this.block = new ArrayList<>();
+        this.blockStart = index;
+        this.nesting = 0;
+    }
+
+    /**
+     * Adds a line to the block being collected, or closes the block.
+     * The <code>.rept</code> blocks may be nested, the macro definitions may not.
+     */
+    private void collect(int index, CharSequence line, int end) {
+        if(regionEquals(line, end, ".MACRO")) {
+            this.diagnostics.error(index + 1, "[ERROR] A macro can not be defined inside a block, at line " + (index + 1) + ".");
+            return;
+        }
+
+        if(regionEquals(line, end, ".REPT")) {
+            this.nesting++;
+        } else if(regionEquals(line, end, this.defining != null ? ".ENDM" : ".ENDR") && this.nesting == 0) {
+            this.closeBlock();
+            return;
+        } else if(regionEquals(line, end, ".ENDR")) {
+            this.nesting--;
+        }
+
+        if(this.block.size() == this.blockLines.length)
+            this.blockLines = Arrays.copyOf(this.blockLines, this.blockLines.length * 2);
+        this.blockLines[this.block.size()] = index;
+        this.block.add(line.toString());
+    }
+
+    /**
+     * Closes the collected block: registers the macro, or expands the repeated lines.
+     */
+    private void closeBlock() {
+        String[] body = this.block.toArray(new String[0]);
+        int[] lines = Arrays.copyOf(this.blockLines, body.length);
+        this.block = null;
+
+        if(this.defining != null) {
+            Macro macro = this.defining;
+            this.defining = null;
+            if(macro.getName() != null) {
+                macro.setBody(body);
+                this.macros.put(macro.getName(), macro);
+            }
+            return;
+        }
+
+        // the block fields are reused by the nested blocks of the expansion
+        int count = this.repeat;
+        if(!this.enter(this.blockStart))
+            return;
+        for (int r = 0; r < count && !this.stopped && !this.diagnostics.isFull(); r++) {
+            String suffix = "_" + (++this.uniqueCount);
+            for (int l = 0; l < body.length && !this.stopped; l++) {
+                this.accept(lines[l], body[l].contains(Macro.UNIQUE) ? body[l].replace(Macro.UNIQUE, suffix) : body[l]);
+            }
+        }
+        this.depth--;
+    }
+
+    /**
+     * Expands a macro call, the substituted body is taken from the cache if the call was already expanded.
+     */
+    private void expand(int index, CharSequence line, int end, Macro macro) {
+        String[] args = tokens(line, end);
+        if(args.length != macro.getParamCount()) {
+            this.diagnostics.error(index + 1, "[ERROR] The macro " + macro.getName() + " expects " + macro.getParamCount() + " arguments at line " + (index + 1) + ".");
+            return;
+        }
+        if(macro.isExpanding()) {
+            this.diagnostics.error(index + 1, "[ERROR] The macro " + macro.getName() + " expands itself at line " + (index + 1) + ".");
+            return;
+        }
+        if(!this.enter(index))
+            return;
+
+        String key = args.length == 0 ? macro.getName() : macro.getName() + '\0' + String.join("\0", args);
+        String[] body = this.expansions.get(key);
+        if(body == null) {
+            body = macro.substitute(args);
+            this.expansions.put(key, body);
+        }
+
+        macro.setExpanding(true);
+        String suffix = macro.isUnique() ? "_" + (++this.uniqueCount) : null;
+        for (int l = 0; l < body.length && !this.stopped; l++) {
+            this.accept(index, suffix != null ? body[l].replace(Macro.UNIQUE, suffix) : body[l]);
+        }
+        macro.setExpanding(false);
+        this.depth--;
+    }
+
+    /**
+     * Enters a nested expansion.
+     * @return boolean false if the expansions are nested too deeply
+     */
+    private boolean enter(int index) {
+        if(this.depth == MAX_DEPTH) {
+            this.diagnostics.error(index + 1, "[ERROR] The expansions are nested too deeply at line " + (index + 1) + ".");
+            return false;
+        }
+        this.depth++;
+        return true;
+    }
+
+    private boolean forward(int index, CharSequence line) {
+        if(!this.next.accept(index, line))
+            this.stopped = true;
+        return !this.stopped;
+    }
+
+    /**
+     * Splits the tokens after the first token, separated by blanks or commas.
+     */
+    private static String[] tokens(CharSequence line, int start) {
+        List<String> tokens = new ArrayList<>();
+        int i = start;
+        while (i < line.length()) {
+            while (i < line.length() && isSeparator(line.charAt(i))) i++;
+            int s = i;
+            while (i < line.length() && !isSeparator(line.charAt(i))) i++;
+            if(i > s)
+                tokens.add(line.subSequence(s, i).toString());
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Parses a repeat count, decimal or hexadecimal with the <code>0x</code> prefix or the <code>h</code> suffix.
+     * @return the count, -1 if not valid
+     */
+    private static int parseCount(String token) {
+        try {
+            long count;
+            if(token.startsWith("0X"))
+                count = Long.parseLong(token.substring(2), 16);
+            else if(token.endsWith("H"))
+                count = Long.parseLong(token.substring(0, token.length() - 1), 16);
+            else
+                count = Long.parseLong(token);
+            return count >= 0 && count <= MAX_REPEAT ? (int) count : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int tokenEnd(CharSequence line, int start) {
+        int i = start;
+        while (i < line.length() && !isSeparator(line.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean isName(String token) {
+        if(token.isEmpty() || (token.charAt(0) >= '0' && token.charAt(0) <= '9'))
+            return false;
+        for (int i = 0; i < token.length(); i++) {
+            if(!Macro.isNameChar(token.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(CharSequence line, int end, String word) {
+        if(end != word.length())
+            return false;
+        for (int i = 0; i < end; i++) {
+            if(line.charAt(i) != word.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == ',';
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * File: MemoryImage.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: MemoryImage.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+/**
+ * Compiled RAM image.
+ * <p>The image is sparse and paged: the words are stored in pages of {@link #PAGE_SIZE} words,
+ * and a page is only allocated when one of its words is written, so a large RAM costs memory
+ * in proportion to the used words. Each page has a bitmap stored in a <code>long</code> array
+ * tagging the used words (program or data). The output formats are rendered from the image,
+ * and the used words of a sparse image are found by skipping the missing pages and
+ * scanning the bitmaps 64 words at a time.</p>
+ * @author Jugurtha Bellagh
+ */
+public class MemoryImage {
+    private static final int PAGE_BITS = 12;
+    /** Number of words of a page. */
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final Geometry geometry;
+    private final int size;
+    private final int[][] pages;
+    private final long[][] used;
+    private int usedCount = 0;
+
+    /**
+     * Constructor of {@link MemoryImage}, every word is free and set to 0.
+     * @param geometry the RAM geometry
+     */
+    public MemoryImage(Geometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getDepth();
+        int pageCount = (this.size + PAGE_MASK) >>> PAGE_BITS;
+        this.pages = new int[pageCount][];
+        this.used = new long[pageCount][];
+    }
+
+    /**
+     * Writes a word and tags it as used, the page of the word is allocated if needed.
+     * @param address the word address
+     * @param word the word, masked to the width of the geometry
+     */
+    public void set(int address, int word) {
+        int page = address >>> PAGE_BITS;
+        if(this.pages[page] == null) {
+            this.pages[page] = new int[PAGE_SIZE];
+            this.used[page] = new long[PAGE_SIZE >>> 6];
+        }
+
+        int offset = address & PAGE_MASK;
+        this.pages[page][offset] = (int) (word & this.geometry.getMaxWord());
+        long[] bits = this.used[page];
+        if((bits[offset >>> 6] & (1L << offset)) == 0) {
+            bits[offset >>> 6] |= 1L << offset;
+            this.usedCount++;
+        }
+    }
+
+    /**
+     * Getting a word.
+     * @param address the word address
+     * @return the word, 0 if the word is free
+     */
+    public int get(int address) {
+        int[] page = this.pages[address >>> PAGE_BITS];
+        return page == null ? 0 : page[address & PAGE_MASK];
+    }
+
+    /**
+     * Checks if a word is used.
+     * @param address the word address
+     * @return boolean true if the word is program or data
+     */
+    public boolean isUsed(int address) {
+        long[] bits = this.used[address >>> PAGE_BITS];
+        int offset = address & PAGE_MASK;
+        return bits != null && (bits[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Returns the next used address from a given address.
+     * @param from the address to start the search with, included
+     * @return the address as <code>int</code>, -1 if there is no more used word
+     */
+    public int nextUsed(int from) {
+        for (int page = from >>> PAGE_BITS; page < this.pages.length; page++, from = page << PAGE_BITS) {
+            long[] bits = this.used[page];
+            if(bits == null) {
+                continue;
+            }
+            int index = (from & PAGE_MASK) >>> 6;
+            long word = bits[index] & (-1L << from);
+            while (word == 0 && ++index < bits.length) {
+                word = bits[index];
+            }
+            if(word != 0) {
+                return (page << PAGE_BITS) + (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the next free address from a given address, the end of a run of used words.
+     * @param from the address to start the search with, included
+     * @return the address as <code>int</code>, the size of the image if every next word is used
+     */
+    public int nextFree(int from) {
+        for (int page = from >>> PAGE_BITS; page < this.pages.length; page++, from = page << PAGE_BITS) {
+            long[] bits = this.used[page];
+            if(bits == null) {
+                return from;
+            }
+            int index = (from & PAGE_MASK) >>> 6;
+            long word = ~bits[index] & (-1L << from);
+            while (word == 0 && ++index < bits.length) {
+                word = ~bits[index];
+            }
+            if(word != 0) {
+                return (page << PAGE_BITS) + (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return this.size;
+    }
+
+    /**
+     * Returns the last used address.
+     * @return the address as <code>int</code>, -1 if the image is empty
+     */
+    public int lastUsed() {
+        for (int page = this.pages.length - 1; page >= 0; page--) {
+            long[] bits = this.used[page];
+            if(bits == null) {
+                continue;
+            }
+            for (int index = bits.length - 1; index >= 0; index--) {
+                if(bits[index] != 0) {
+                    return (page << PAGE_BITS) + (index << 6) + 63 - Long.numberOfLeadingZeros(bits[index]);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Getters
+    public Geometry getGeometry() { return this.geometry; }
+    public int getSize() { return this.size; }
+    public int getUsedCount() { return this.usedCount; }
+
+    /**
+     * Getting the number of allocated pages.
+     * @return the pages count
+     */
+    public int getPageCount() {
+        int count = 0;
+        for (int[] page : this.pages) {
+            if(page != null)
+                count++;
+        }
+        return count;
+    }
+}
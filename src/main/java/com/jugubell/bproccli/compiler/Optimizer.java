@@ -0,0 +1,681 @@
+/*
+ * File: Optimizer.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:04
+ *
+ * This file: Optimizer.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import com.jugubell.bproccli.console.Log;
+import com.jugubell.bproccli.utils.InstructionSet;
+import com.jugubell.bproccli.utils.LineType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Optimizer of the verified code, enabled with the <code>-O</code> option.
+ * <p>It runs on the {@link IntermediateCode} once every line is verified, before the labels
+ * get their addresses. The removed rows are tombstoned, they take no word and are skipped
+ * by the {@link Compile}, so the row indexes held by the {@link SymbolTable} stay valid.</p>
+ * <p>The peephole pass slides a window of two instructions over the program and applies the
+ * {@link PeepholeRule} table, the first matching rule wins. After a rewrite the window goes back
+ * one instruction, so the rewrites chain (<code>LNA LNA LNA LNA</code> is fully removed).
+ * A window is not rewritten across a label, nor after a skip instruction, as the skipped
+ * instruction would change. Every instruction unknown to the optimizer is taken as a skip.</p>
+ * <p>The control-flow pass threads the chains of jumps: a JMP to a label followed by another JMP
+ * goes straight to the final label, a cycle of jumps is left as it is. A JMP to the label of the
+ * next instruction is removed, unless it follows a skip instruction, where it is a conditional branch.
+ * The passes run again until no word is removed, the labels get their new addresses
+ * when the optimized code is encoded.</p>
+ * <p>The dead code pass removes the instructions that can not be reached from the first one,
+ * and the declared data that no reachable instruction addresses, see {@link #analyze()}.
+ * The analysis is also used without <code>-O</code> to report the dead code.</p>
+ * <p>The counted loop pass rewrites a loop counter incremented in A into an ISZ on the counter word,
+ * see {@link #rewriteCountedLoop()}.</p>
+ * <p>The rows are moved, so the code is not optimized at all when an instruction addresses
+ * the program words directly (self-modifying code, BIN or BSA to an absolute address).</p>
+ * <p>The rules know the instructions by their built-in behavior (STA, LDA, SZA, ISZ, HLT...),
+ * an instruction set definition file may give these mnemonics another behavior,
+ * so the optimizer only supports the built-in instruction set, see {@link #supports(InstructionSet)}.</p>
+ * @author Jugurtha Bellagh
+ */
+public class Optimizer {
+    /** The built-in rules of the peephole pass. */
+    public static final List<PeepholeRule> DEFAULT_RULES = Collections.unmodifiableList(Arrays.asList(
+        // STA x, LDA x: A already holds the value of x
+        (o, a, b) -> o.is(a, "STA") && o.is(b, "LDA") && o.isSameDirectOperand(a, b) ? PeepholeRule.DROP_SECOND : PeepholeRule.KEEP,
+        // STA x, STA x: x is written twice with the same value
+        (o, a, b) -> o.is(a, "STA") && o.is(b, "STA") && o.isSameDirectOperand(a, b) ? PeepholeRule.DROP_SECOND : PeepholeRule.KEEP,
+        // CLA, LDA, LDD followed by CLA, LDA, LDD: A is overwritten before being read
+        (o, a, b) -> o.isLoad(a) && o.isLoad(b) ? PeepholeRule.DROP_FIRST : PeepholeRule.KEEP,
+        // CLE, CLE
+        (o, a, b) -> o.is(a, "CLE") && o.is(b, "CLE") ? PeepholeRule.DROP_SECOND : PeepholeRule.KEEP,
+        // LNA, LNA and LNE, LNE: the complements cancel each other
+        (o, a, b) -> (o.is(a, "LNA") && o.is(b, "LNA")) || (o.is(a, "LNE") && o.is(b, "LNE")) ? PeepholeRule.DROP_BOTH : PeepholeRule.KEEP,
+        // HLT or JMP followed by an instruction without label: it is never reached
+        (o, a, b) -> o.is(a, "HLT") || o.is(a, InstructionSet.JUMP) ? PeepholeRule.DROP_SECOND : PeepholeRule.KEEP
+    ));
+
+    // the instructions that never skip the next one
+    private static final List<String> NOT_SKIPPING = Arrays.asList(
+        "AND", "ADD", "LDA", "STA", "BIN", "BSA", "CLA", "CLE", "LNA", "LNE", "SRA", "SLA", "INC", "HLT", "RIR", "WOR"
+    );
+
+    // the instructions with an operand that never branch
+    private static final List<String> DATA_ACCESS = Arrays.asList("AND", "ADD", "LDA", "STA", "ISZ");
+
+    private final IntermediateCode code;
+    private final SymbolTable symbols;
+    private final InstructionSet instructionSet;
+    private final List<PeepholeRule> rules = new ArrayList<>(DEFAULT_RULES);
+    private final HashMap<String, Integer> opCodes = new HashMap<>();
+    private int removedWords = 0;
+    private int threadedJumps = 0;
+    private int removedData = 0;
+    private boolean[] reachable;
+    private int[] instructions;
+    private int[] instructionIndex;
+    private int instructionCount;
+    private boolean indirect;
+    private BitSet referenced;
+
+    /**
+     * Checks if the optimizer and its analysis can run on the code of an instruction set.
+     * @param instructionSet the instruction set of the code
+     * @return boolean true for the built-in instruction set only
+     */
+    public static boolean supports(InstructionSet instructionSet) {
+        return instructionSet == InstructionSet.BUILT_IN;
+    }
+
+    /**
+     * Constructor of {@link Optimizer} with the built-in rules.
+     * @param code the intermediate code filled by {@link VerifySyntax}
+     * @param instructionSet the instruction set of the code, giving the opcodes of the mnemonics
+     */
+    public Optimizer(IntermediateCode code, InstructionSet instructionSet) {
+        this.code = code;
+        this.symbols = code.getSymbols();
+        this.instructionSet = instructionSet;
+    }
+
+    /**
+     * Adds a rule to the peephole pass, after the built-in rules.
+     * @param rule the {@link PeepholeRule}
+     */
+    public void addRule(PeepholeRule rule) {
+        this.rules.add(rule);
+    }
+
+    /**
+     * Optimizes the code.
+     * @return the number of program words saved
+     */
+    public int optimize() {
+        int programSize = this.programSize();
+
+        // the program must not move if it is addressed directly
+        int row = this.addressingProgram(programSize);
+        if(row != -1) {
+            Log.warning("[WARNING] Code not optimized, the instruction at line " + (this.code.getSourceLine(row) + 1) + " addresses the program.");
+            return 0;
+        }
+
+        this.removedWords = 0;
+        this.removedData = 0;
+        this.threadedJumps = 0;
+        int removedWords;
+        do {
+            removedWords = this.removedWords;
+            this.peephole(programSize);
+            this.threadJumps();
+            this.removeJumpsToNext();
+            this.removeDeadCode();
+            this.rewriteCountedLoop();
+        } while (this.removedWords != removedWords);
+        return this.removedWords;
+    }
+
+    /**
+     * Reachability analysis of the instructions, and reference analysis of the declared data.
+     * <p>The instructions are walked from the first one over the fall-through, JMP and skip edges,
+     * HLT and JMP do not fall through. A declared data word is referenced if a reachable instruction
+     * addresses it. If the code uses indirect addressing, any data word may be addressed,
+     * so every data word is taken as referenced.</p>
+     * <p>The code is not analyzed if an instruction addresses the program directly, or if a branch
+     * or an unknown instruction is in indirect mode, their targets are unknown.</p>
+     * @return boolean true if the code is analyzed
+     */
+    public boolean analyze() {
+        int programSize = this.programSize();
+        this.reachable = null;
+        this.referenced = null;
+        if(this.addressingProgram(programSize) != -1)
+            return false;
+
+        // the instructions in program order
+        int count = 0;
+        this.instructions = new int[programSize];
+        this.instructionIndex = new int[this.code.size() + 1];
+        this.indirect = false;
+        for (int r = 0; r < this.code.size(); r++) {
+            this.instructionIndex[r] = count;
+            if(this.code.isInstruction(r)) {
+                if(this.code.isIndirect(r)) {
+                    if(!this.isDataAccess(r))
+                        return false;
+                    this.indirect = true;
+                }
+                this.instructions[count++] = r;
+            }
+        }
+        this.instructionIndex[this.code.size()] = count;
+        this.instructionCount = count;
+
+        // walking the edges from the first instruction, each instruction pushes at most two others
+        this.reachable = new boolean[this.code.size()];
+        int[] pending = new int[count * 2 + 1];
+        int[] targets = new int[2];
+        int top = 0;
+        pending[top++] = 0;
+        while (top > 0) {
+            int i = pending[--top];
+            if(i >= count || this.reachable[this.instructions[i]])
+                continue;
+            this.reachable[this.instructions[i]] = true;
+            for (int k = this.successors(i, targets) - 1; k >= 0; k--) {
+                pending[top++] = targets[k];
+            }
+        }
+
+        // the data words addressed by the reachable instructions
+        if(!this.indirect) {
+            this.referenced = new BitSet();
+            for (int r = 0; r < this.code.size(); r++) {
+                LineType lineType = this.code.getLineType(r);
+                if(this.reachable[r] && (lineType == LineType.INSTR_I || lineType == LineType.INSTR_nI))
+                    this.referenced.set(this.code.getOperand(r));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if an instruction is reachable, once the code is analyzed.
+     * @param row the row index
+     * @return boolean true if the row is reachable, or if the code is not analyzed
+     */
+    public boolean isReachable(int row) {
+        return this.reachable == null || this.reachable[row];
+    }
+
+    /**
+     * Checks if a declared data word is referenced, once the code is analyzed.
+     * @param row the row index of the data
+     * @return boolean true if the data is addressed by a reachable instruction, or if the data is not analyzed
+     */
+    public boolean isReferenced(int row) {
+        return this.referenced == null || this.referenced.get(this.code.getOperand(row));
+    }
+
+    /**
+     * Peephole pass.
+     * The kept instructions are stacked, each new instruction is matched with the top of the stack
+     * until no rule applies. A removed first instruction is popped, its labels go to the next instruction.
+     * @param programSize the number of instructions
+     */
+    private void peephole(int programSize) {
+        int[] kept = new int[programSize];
+        boolean[] labelled = new boolean[programSize];
+        int top = 0;
+        boolean label = false;
+
+        for (int r = 0; r < this.code.size(); r++) {
+            LineType lineType = this.code.getLineType(r);
+            if(lineType == LineType.LABEL || lineType == LineType.START) {
+                label = true;
+                continue;
+            }
+            if(!this.code.isInstruction(r))
+                continue;
+
+            int second = r;
+            while (second != -1 && top > 0 && !label && !this.isSkip(kept[top - 1]) && (top < 2 || !this.isSkip(kept[top - 2]))) {
+                int first = kept[top - 1];
+                int action = this.match(first, second);
+                if(action == PeepholeRule.KEEP)
+                    break;
+
+                if((action & PeepholeRule.DROP_SECOND) != 0) {
+                    this.remove(second);
+                    second = -1;
+                }
+                if((action & PeepholeRule.DROP_FIRST) != 0) {
+                    this.remove(first);
+                    label = labelled[--top];
+                }
+            }
+
+            if(second != -1) {
+                kept[top] = second;
+                labelled[top++] = label;
+                label = false;
+            }
+        }
+    }
+
+    /**
+     * Control-flow pass retargeting every JMP to the end of its chain of jumps.
+     * A chain longer than the number of jumps is a cycle, the JMP is left as it is.
+     */
+    private void threadJumps() {
+        int[] next = this.nextInstructions();
+        int jumps = 0;
+        for (int r = 0; r < this.code.size(); r++) {
+            if(this.code.getLineType(r) == LineType.JUMP)
+                jumps++;
+        }
+
+        for (int r = 0; r < this.code.size(); r++) {
+            if(this.code.getLineType(r) != LineType.JUMP)
+                continue;
+
+            int symbol = this.code.getOperand(r);
+            int target = next[this.symbols.getDefinition(symbol)];
+            int hops = 0;
+            while (target != -1 && this.code.getLineType(target) == LineType.JUMP && hops < jumps) {
+                symbol = this.code.getOperand(target);
+                target = next[this.symbols.getDefinition(symbol)];
+                hops++;
+            }
+
+            if(hops > 0 && hops < jumps && symbol != this.code.getOperand(r)) {
+                this.code.setOperand(r, symbol);
+                this.threadedJumps++;
+            }
+        }
+    }
+
+    /**
+     * Control-flow pass removing the JMP to the next instruction.
+     * The rows are scanned backward, so the next instructions are known and stay valid after a removal.
+     */
+    private void removeJumpsToNext() {
+        int[] previous = new int[this.code.size()];
+        int last = -1;
+        for (int r = 0; r < this.code.size(); r++) {
+            previous[r] = last;
+            if(this.code.isInstruction(r))
+                last = r;
+        }
+
+        int[] next = new int[this.code.size() + 1];
+        next[this.code.size()] = -1;
+        for (int r = this.code.size() - 1; r >= 0; r--) {
+            if(this.code.getLineType(r) == LineType.JUMP) {
+                int definition = this.symbols.getDefinition(this.code.getOperand(r));
+                if(definition > r && next[definition] == next[r + 1] && (previous[r] == -1 || !this.isSkip(previous[r])))
+                    this.remove(r);
+            }
+            next[r] = this.code.isInstruction(r) ? r : next[r + 1];
+        }
+    }
+
+    /**
+     * Getting the first instruction at or after each row.
+     * @return the rows of the instructions, -1 past the last instruction, with one more entry for the end of the code
+     */
+    private int[] nextInstructions() {
+        int[] next = new int[this.code.size() + 1];
+        next[this.code.size()] = -1;
+        for (int r = this.code.size() - 1; r >= 0; r--) {
+            next[r] = this.code.isInstruction(r) ? r : next[r + 1];
+        }
+        return next;
+    }
+
+    /**
+     * Removes the unreachable instructions and the unreferenced data, if the code can be analyzed.
+     */
+    private void removeDeadCode() {
+        if(!this.analyze())
+            return;
+
+        for (int r = 0; r < this.code.size(); r++) {
+            if(this.code.isInstruction(r) && !this.isReachable(r)) {
+                this.remove(r);
+            } else if(this.code.getLineType(r) == LineType.DATA && !this.isReferenced(r)) {
+                this.code.remove(r);
+                this.removedData++;
+            }
+        }
+    }
+
+    /**
+     * Counted loop pass, rewriting a loop counter incremented in A into an ISZ on the counter word.
+     * <p>Two forms are recognized, without label inside:</p>
+     * <ul>
+     *     <li><code>LDA x, INC, STA x, SZA</code> becomes <code>ISZ x</code>,
+     *     if A is dead after the SZA, as A no longer holds the counter</li>
+     *     <li><code>LDA x, INC, SZA, JMP l</code> with <code>l: STA x</code> only reached by this JMP
+     *     becomes <code>ISZ x, JMP l</code> and the STA is removed, if A is dead after the JMP and after
+     *     the STA, and x is dead after the JMP, as ISZ also stores the counter when it reaches 0</li>
+     * </ul>
+     * <p>A rewritten loop takes fewer cycles per iteration, so a warning asks to recompute its delay constants.
+     * A loop is rewritten per run of the passes, the code is analyzed again for the next one.</p>
+     * @return boolean true if a loop is rewritten
+     */
+    private boolean rewriteCountedLoop() {
+        int iszOpCode = this.getOpCode("ISZ");
+        if(iszOpCode == InstructionSet.NOT_FOUND || !this.analyze() || this.indirect)
+            return false;
+
+        int count = this.instructionCount;
+        int[] targets = new int[2];
+        int[] predecessors = new int[count + 2];
+        predecessors[0] = 1;
+        for (int i = 0; i < count; i++) {
+            for (int k = this.successors(i, targets) - 1; k >= 0; k--) {
+                predecessors[targets[k]]++;
+            }
+        }
+        boolean[] liveA = this.liveness(this::readsA, this::writesA);
+
+        for (int i = 0; i + 3 < count; i++) {
+            int load = this.instructions[i];
+            if(!this.is(load, "LDA") || this.code.isIndirect(load) || !this.is(this.instructions[i + 1], "INC"))
+                continue;
+            if((i > 0 && this.isSkip(this.instructions[i - 1])) || this.isLabelled(i + 1) || this.isLabelled(i + 2) || this.isLabelled(i + 3))
+                continue;
+
+            int counter = this.code.getOperand(load);
+            int third = this.instructions[i + 2];
+            int fourth = this.instructions[i + 3];
+            if(this.isStore(third, counter) && this.is(fourth, "SZA")) {
+                if(liveA[i + 4] || liveA[i + 5])
+                    continue;
+                this.remove(third);
+                this.remove(fourth);
+            } else if(this.is(third, "SZA") && this.code.getLineType(fourth) == LineType.JUMP) {
+                int store = this.instructionIndex[this.symbols.getDefinition(this.code.getOperand(fourth))];
+                if(store >= count || (store >= i && store <= i + 4) || !this.isStore(this.instructions[store], counter) || predecessors[store] != 1)
+                    continue;
+                if(liveA[i + 4] || liveA[store + 1])
+                    continue;
+                final int x = counter;
+                boolean[] liveX = this.liveness(row -> this.readsMemory(row, x), row -> this.isStore(row, x));
+                if(liveX[i + 4])
+                    continue;
+                this.remove(third);
+                this.remove(this.instructions[store]);
+            } else {
+                continue;
+            }
+
+            this.code.setWord(load, iszOpCode);
+            this.remove(this.instructions[i + 1]);
+            Log.warning("[WARNING] The counted loop at line " + (this.code.getSourceLine(load) + 1) + " is rewritten with ISZ, its delay constants must be recomputed.");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Getting the successors of an analyzed instruction: the next one, the JMP label, or both next ones for a skip.
+     * The index past the last instruction stands for the end of the program.
+     * @param i the instruction index in program order
+     * @param targets the array receiving the successor indexes, at least 2 long
+     * @return the number of successors
+     */
+    private int successors(int i, int[] targets) {
+        int row = this.instructions[i];
+        if(this.code.getLineType(row) == LineType.JUMP) {
+            targets[0] = this.instructionIndex[this.symbols.getDefinition(this.code.getOperand(row))];
+            return 1;
+        }
+        if(this.isSkip(row)) {
+            targets[0] = i + 1;
+            targets[1] = i + 2;
+            return 2;
+        }
+        if(this.is(row, "HLT"))
+            return 0;
+        targets[0] = i + 1;
+        return 1;
+    }
+
+    /**
+     * Backward liveness analysis of a value over the analyzed instructions.
+     * The value is live before an instruction reading it, or not writing it with a live successor.
+     * It is live past the end of the program.
+     * @param reads the rows reading the value
+     * @param writes the rows overwriting the value
+     * @return the liveness by instruction index, 2 entries longer for the end of the program
+     */
+    private boolean[] liveness(IntPredicate reads, IntPredicate writes) {
+        int count = this.instructionCount;
+        boolean[] live = new boolean[count + 2];
+        live[count] = true;
+        live[count + 1] = true;
+        int[] targets = new int[2];
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = count - 1; i >= 0; i--) {
+                if(live[i])
+                    continue;
+                int row = this.instructions[i];
+                boolean value = reads.test(row);
+                if(!value && !writes.test(row)) {
+                    for (int k = this.successors(i, targets) - 1; k >= 0 && !value; k--) {
+                        value = live[targets[k]];
+                    }
+                }
+                if(value) {
+                    live[i] = true;
+                    changed = true;
+                }
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Checks if an instruction overwrites A without reading it: CLA, LDA or LDD.
+     */
+    private boolean writesA(int row) {
+        return this.isLoad(row);
+    }
+
+    /**
+     * Checks if an instruction may read A. HLT reads A, as it stays visible once halted.
+     */
+    private boolean readsA(int row) {
+        return !this.isLoad(row) && !this.is(row, InstructionSet.JUMP) && !this.is(row, "CLE")
+                && !this.is(row, "LNE") && !this.is(row, "SZE") && !this.is(row, "ISZ");
+    }
+
+    /**
+     * Checks if an instruction may read a memory word. HLT reads every word, as they stay visible once halted.
+     */
+    private boolean readsMemory(int row, int address) {
+        LineType lineType = this.code.getLineType(row);
+        boolean operand = (lineType == LineType.INSTR_I || lineType == LineType.INSTR_nI) && this.code.getOperand(row) == address;
+        return (operand && !this.isStore(row, address)) || this.is(row, "HLT");
+    }
+
+    /**
+     * Checks if an instruction is a STA to a word, in direct mode.
+     */
+    private boolean isStore(int row, int address) {
+        return this.is(row, "STA") && !this.code.isIndirect(row) && this.code.getOperand(row) == address;
+    }
+
+    /**
+     * Checks if a label is between an analyzed instruction and the previous one.
+     * @param i the instruction index in program order
+     */
+    private boolean isLabelled(int i) {
+        for (int r = this.instructions[i - 1] + 1; r < this.instructions[i]; r++) {
+            if(this.code.getLineType(r) == LineType.LABEL || this.code.getLineType(r) == LineType.START)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Getting the number of instructions.
+     */
+    private int programSize() {
+        int programSize = 0;
+        for (int r = 0; r < this.code.size(); r++) {
+            if(this.code.isInstruction(r))
+                programSize++;
+        }
+        return programSize;
+    }
+
+    /**
+     * Searches an instruction addressing the program words directly.
+     * @param programSize the number of instructions
+     * @return the row of the first one, -1 if none
+     */
+    private int addressingProgram(int programSize) {
+        for (int r = 0; r < this.code.size(); r++) {
+            LineType lineType = this.code.getLineType(r);
+            if((lineType == LineType.INSTR_I || lineType == LineType.INSTR_nI) && this.code.getOperand(r) < programSize)
+                return r;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if an instruction only reads or writes its operand word: AND, ADD, LDA, STA or ISZ.
+     */
+    private boolean isDataAccess(int row) {
+        for (String mnemonic : DATA_ACCESS) {
+            if(this.is(row, mnemonic))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Applies the rules to a window, the first matching rule wins.
+     * @return the action of the matching rule, {@link PeepholeRule#KEEP} if none matches
+     */
+    private int match(int first, int second) {
+        for (PeepholeRule rule : this.rules) {
+            int action = rule.apply(this, first, second);
+            if(action != PeepholeRule.KEEP)
+                return action;
+        }
+        return PeepholeRule.KEEP;
+    }
+
+    /**
+     * Tombstones a row.
+     */
+    private void remove(int row) {
+        this.code.remove(row);
+        this.removedWords++;
+    }
+
+    // Getters
+    public IntermediateCode getCode() { return this.code; }
+    public int getThreadedJumps() { return this.threadedJumps; }
+    public int getRemovedData() { return this.removedData; }
+    public List<PeepholeRule> getRules() { return Collections.unmodifiableList(this.rules); }
+
+    /**
+     * Checks if a row is an instruction of a given mnemonic.
+     * @param row the row index
+     * @param mnemonic the mnemonic, JMP and LDD included
+     * @return boolean true if the row is this instruction, false if the mnemonic is not in the instruction set
+     */
+    public boolean is(int row, String mnemonic) {
+        LineType lineType = this.code.getLineType(row);
+        if(InstructionSet.JUMP.equals(mnemonic))
+            return lineType == LineType.JUMP;
+        if(InstructionSet.IMMEDIATE.equals(mnemonic))
+            return lineType == LineType.IMMEDIATE;
+        if(lineType != LineType.INSTR && lineType != LineType.INSTR_I && lineType != LineType.INSTR_nI)
+            return false;
+
+        int opCode = this.getOpCode(mnemonic);
+        return opCode != InstructionSet.NOT_FOUND && this.code.getWord(row) == opCode;
+    }
+
+    /**
+     * Checks if a row sets A without reading it: CLA, LDA or LDD.
+     * @param row the row index
+     * @return boolean true if the previous value of A is lost
+     */
+    public boolean isLoad(int row) {
+        return this.is(row, "CLA") || this.is(row, "LDA") || this.is(row, InstructionSet.IMMEDIATE);
+    }
+
+    /**
+     * Checks if two rows have the same operand, both in direct mode.
+     * @param first the row of the first instruction
+     * @param second the row of the second instruction
+     * @return boolean true if both address the same word directly
+     */
+    public boolean isSameDirectOperand(int first, int second) {
+        return !this.code.isIndirect(first) && !this.code.isIndirect(second) && this.code.getOperand(first) == this.code.getOperand(second);
+    }
+
+    /**
+     * Checks if an instruction may skip the next one.
+     * The instructions unknown to the optimizer are taken as skips.
+     * @param row the row index
+     * @return boolean true if the next instruction may be skipped
+     */
+    public boolean isSkip(int row) {
+        if(this.is(row, InstructionSet.JUMP) || this.is(row, InstructionSet.IMMEDIATE))
+            return false;
+        for (String mnemonic : NOT_SKIPPING) {
+            if(this.is(row, mnemonic))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Getting the opcode of a mnemonic, looked up once in the instruction set.
+     * @return the opcode, {@link InstructionSet#NOT_FOUND} if the mnemonic is not in the instruction set
+     */
+    private int getOpCode(String mnemonic) {
+        Integer opCode = this.opCodes.get(mnemonic);
+        if(opCode == null) {
+            int id = this.instructionSet.lookup(mnemonic, 0, mnemonic.length());
+            opCode = id == InstructionSet.NOT_FOUND ? InstructionSet.NOT_FOUND : this.instructionSet.getOpCode(id);
+            this.opCodes.put(mnemonic, opCode);
+        }
+        return opCode;
+    }
+}
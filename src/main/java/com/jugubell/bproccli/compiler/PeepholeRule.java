@@ -0,0 +1,53 @@
+/*
+ * File: PeepholeRule.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:49
+ *
+ * This file: PeepholeRule.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+/**
+ * Rewrite rule of the peephole pass of the {@link Optimizer}.
+ * <p>A rule looks at two consecutive instructions of the program and tells which one
+ * can be removed without changing what the program does. The {@link Optimizer} only passes
+ * windows that are safe to rewrite: no label between the two instructions, and no skip
+ * instruction in front of them.</p>
+ * @author Jugurtha Bellagh
+ */
+@FunctionalInterface
+public interface PeepholeRule {
+    /** Both instructions are kept. */
+    int KEEP = 0;
+    /** The first instruction is removed. */
+    int DROP_FIRST = 1;
+    /** The second instruction is removed. */
+    int DROP_SECOND = 1 << 1;
+    /** Both instructions are removed. */
+    int DROP_BOTH = DROP_FIRST | DROP_SECOND;
+
+    /**
+     * Matches a window of two instructions.
+     * @param optimizer the running {@link Optimizer}, giving the rows and the mnemonics
+     * @param first the row of the first instruction
+     * @param second the row of the second instruction
+     * @return {@link #KEEP}, {@link #DROP_FIRST}, {@link #DROP_SECOND} or {@link #DROP_BOTH}
+     */
+    int apply(Optimizer optimizer, int first, int second);
+}
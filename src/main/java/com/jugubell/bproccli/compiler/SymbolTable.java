@@ -0,0 +1,231 @@
+/*
+ * File: SymbolTable.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:23
+ *
+ * This file: SymbolTable.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.compiler;
+
+import java.util.Arrays;
+
+/**
+ * Symbol table of the labels.
+ * <p>Label names are interned into a single open-addressing hash table (linear probing),
+ * and each label gets an <code>int</code> symbol id. The names are copied once into a shared
+ * <code>char</code> pool, so interning a label span of a line creates no substring.</p>
+ * <p>For each symbol, the table keeps the row of its definition, the source line of its
+ * first reference, and the program address resolved by {@link Compile}.
+ * A label may be referenced before being defined (forward reference).
+ * The table is shared by {@link VerifySyntax} and {@link Compile}
+ * through {@link IntermediateCode#getSymbols()}.</p>
+ * @author Jugurtha Bellagh
+ */
+public class SymbolTable {
+    /** Value returned when a symbol has no definition, reference or address. */
+    public static final int UNDEFINED = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // hash slots holding symbol id + 1, 0 for an empty slot
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    // symbol columns
+    private int count = 0;
+    private int[] hash = new int[INITIAL_CAPACITY];
+    private int[] nameStart = new int[INITIAL_CAPACITY];
+    private int[] nameLength = new int[INITIAL_CAPACITY];
+    private int[] definition = new int[INITIAL_CAPACITY];
+    private int[] firstReference = new int[INITIAL_CAPACITY];
+    private int[] address = new int[INITIAL_CAPACITY];
+
+    // names pool
+    private char[] pool = new char[INITIAL_CAPACITY * 8];
+    private int poolSize = 0;
+
+    /**
+     * Interns the label name held in <code>[start, end)</code> of a sequence.
+     * @param seq the sequence holding the name
+     * @param start index of the first character of the name
+     * @param end index after the last character of the name
+     * @return the symbol id of the name, created if the name is new
+     */
+    public int intern(CharSequence seq, int start, int end) {
+        int h = hash(seq, start, end);
+        int mask = this.slots.length - 1;
+
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int slot = this.slots[i];
+            if(slot == 0) {
+                int symbol = this.create(seq, start, end, h);
+                this.slots[i] = symbol + 1;
+                if(this.count * 2 > this.slots.length)
+                    this.rehash();
+                return symbol;
+            }
+            if(this.hash[slot - 1] == h && this.nameEquals(slot - 1, seq, start, end))
+                return slot - 1;
+        }
+    }
+
+    /**
+     * Interns a whole label name.
+     * @param name the label name
+     * @return the symbol id of the name
+     */
+    public int intern(CharSequence name) {
+        return this.intern(name, 0, name.length());
+    }
+
+    /**
+     * Defines a symbol at a row of the {@link IntermediateCode}.
+     * The first definition is kept if the symbol is already defined.
+     * @param symbol the symbol id
+     * @param row the row defining the label
+     * @return the row of the previous definition if the label is a duplicate, otherwise {@link #UNDEFINED}
+     */
+    public int define(int symbol, int row) {
+        int previous = this.definition[symbol];
+        if(previous == UNDEFINED)
+            this.definition[symbol] = row;
+        return previous;
+    }
+
+    /**
+     * Records a reference to a symbol, only the first one is kept.
+     * @param symbol the symbol id
+     * @param sourceLine the index of the source line referencing the label
+     */
+    public void reference(int symbol, int sourceLine) {
+        if(this.firstReference[symbol] == UNDEFINED)
+            this.firstReference[symbol] = sourceLine;
+    }
+
+    /**
+     * Searches the first referenced symbol that is never defined.
+     * @return the symbol id with the lowest reference line, or {@link #UNDEFINED} if every reference resolves
+     */
+    public int firstUnresolved() {
+        int unresolved = UNDEFINED;
+        for (int s = 0; s < this.count; s++) {
+            if(this.definition[s] == UNDEFINED && this.firstReference[s] != UNDEFINED
+                    && (unresolved == UNDEFINED || this.firstReference[s] < this.firstReference[unresolved])) {
+                unresolved = s;
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * Empties the table.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, 0);
+        this.count = 0;
+        this.poolSize = 0;
+    }
+
+    // Setters
+    public void setAddress(int symbol, int address) {
+        this.address[symbol] = address;
+    }
+
+    // Getters
+    public int size() { return this.count; }
+    public boolean isDefined(int symbol) { return this.definition[symbol] != UNDEFINED; }
+    public int getDefinition(int symbol) { return this.definition[symbol]; }
+    public int getFirstReference(int symbol) { return this.firstReference[symbol]; }
+    public int getAddress(int symbol) { return this.address[symbol]; }
+
+    /**
+     * Getting the name of a symbol, meant for messages.
+     * @param symbol the symbol id
+     * @return the label name as <code>String</code>
+     */
+    public String getName(int symbol) {
+        return new String(this.pool, this.nameStart[symbol], this.nameLength[symbol]);
+    }
+
+    /**
+     * Creating a new symbol and copying its name into the pool.
+     * @return the new symbol id
+     */
+    private int create(CharSequence seq, int start, int end, int h) {
+        int length = end - start;
+        if(this.count == this.hash.length) {
+            int capacity = this.count * 2;
+            this.hash = Arrays.copyOf(this.hash, capacity);
+            this.nameStart = Arrays.copyOf(this.nameStart, capacity);
+            this.nameLength = Arrays.copyOf(this.nameLength, capacity);
+            this.definition = Arrays.copyOf(this.definition, capacity);
+            this.firstReference = Arrays.copyOf(this.firstReference, capacity);
+            this.address = Arrays.copyOf(this.address, capacity);
+        }
+        if(this.poolSize + length > this.pool.length)
+            this.pool = Arrays.copyOf(this.pool, Math.max(this.pool.length * 2, this.poolSize + length));
+        for (int i = 0; i < length; i++) {
+            this.pool[this.poolSize + i] = seq.charAt(start + i);
+        }
+
+        int symbol = this.count++;
+        this.hash[symbol] = h;
+        this.nameStart[symbol] = this.poolSize;
+        this.nameLength[symbol] = length;
+        this.definition[symbol] = UNDEFINED;
+        this.firstReference[symbol] = UNDEFINED;
+        this.address[symbol] = UNDEFINED;
+        this.poolSize += length;
+        return symbol;
+    }
+
+    /**
+     * Doubling the hash slots and placing the symbols again.
+     */
+    private void rehash() {
+        this.slots = new int[this.slots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int s = 0; s < this.count; s++) {
+            int i = this.hash[s] & mask;
+            while (this.slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            this.slots[i] = s + 1;
+        }
+    }
+
+    private boolean nameEquals(int symbol, CharSequence seq, int start, int end) {
+        if(this.nameLength[symbol] != end - start)
+            return false;
+        int offset = this.nameStart[symbol];
+        for (int i = start; i < end; i++) {
+            if(this.pool[offset++] != seq.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence seq, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + seq.charAt(i);
+        }
+        // spreading the high bits to the low bits used by the mask
+        return h ^ (h >>> 16);
+    }
+}
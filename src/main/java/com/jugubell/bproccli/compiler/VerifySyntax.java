@@ -1,7 +1,7 @@
 /*
  * File: VerifySyntax.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 18:05
+ * Last modified: 2026-10-18 08:23
  *
  * This file: VerifySyntax.java is part of BProC-CLI project.
  *
@@ -24,30 +24,93 @@
 package com.jugubell.bproccli.compiler;
 
 import com.jugubell.bproccli.console.Log;
+import com.jugubell.bproccli.files.LineConsumer;
 import com.jugubell.bproccli.utils.*;
 
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * The class handling the syntax verification of the code.
+ * <p>The verification does not stop at the first error: an erroneous line is skipped
+ * and the next lines are still verified, so every syntax, label, duplicate and overlap
+ * error is collected in the {@link Diagnostics} and reported in one run.</p>
+ * <p>The lines are received one by one as a {@link LineConsumer}, while the source is read,
+ * and each verified row is passed on to the {@link Compile} if one is set.
+ * The checks needing the whole code are done by {@link #isSyntaxCorrect()} at the end.</p>
+ * <p>Only the reading is streamed: every verified row is kept in the {@link IntermediateCode}
+ * and the whole RAM image in the {@link Compile}, so the memory grows with the source.
+ * Nothing is written before the verification ends, a failing source never produces a partial output.</p>
+ * <p>If an {@link Optimizer} is set, the rows are encoded once the code is optimized,
+ * and the program is placed again before the overlap and capacity checks.</p>
  * @author Jugurtha Bellagh
  */
-public class VerifySyntax {
-    Globals glb = new Globals();
-    TreeMap<String, Instruction> instSet = glb.getInstset();
-    private final TreeMap<Integer, LineType> codeLineType = new TreeMap<>();
+public class VerifySyntax implements LineConsumer {
+    private final Geometry geometry;
+    private final Lexer lexer;
+    private final InstructionSet instructionSet;
     private final ProgramMetadata programMetadata = new ProgramMetadata();
-    private final List<String> code;
-    private final List<String> labels = new ArrayList<>();
+    private final IntermediateCode intermediateCode = new IntermediateCode();
+    private final SymbolTable symbols;
+    private final ConstantPool constants;
+    private final int loadOpCode;
+    private AddressMap addressMap;
+    private final Diagnostics diagnostics;
+    private int overlapLine = -1;
+    private int exceedsLine = -1;
+    private int programCounter = 0;
+    private int immediateCount = 0;
+    private int constantWords = 0;
+    private int startIndex = -1;
+    private int lastDataIndex = -1;
+    private Compile compile;
+    private Optimizer optimizer;
 
     /**
      * Constructor of {@link VerifySyntax}
-     * @param code a trimmed code from any comment or extra spaces as <code>List</code> of <code>String</code>
      */
-    public VerifySyntax(List<String> code) {
-        this.code = code;
+    public VerifySyntax() {
+        this(Diagnostics.DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * Constructor of {@link VerifySyntax} with a maximum number of reported errors.
+     * @param maxErrors the verification stops after this number of errors
+     */
+    public VerifySyntax(int maxErrors) {
+        this(maxErrors, Geometry.DEFAULT, InstructionSet.BUILT_IN);
+    }
+
+    /**
+     * Constructor of {@link VerifySyntax} for a RAM geometry and an instruction set.
+     * @param maxErrors the verification stops after this number of errors
+     * @param geometry the RAM geometry, giving the RAM capacity and the operands range
+     * @param instructionSet the instruction set of the code
+     */
+    public VerifySyntax(int maxErrors, Geometry geometry, InstructionSet instructionSet) {
+        this.geometry = geometry;
+        this.lexer = new Lexer(geometry, instructionSet);
+        this.instructionSet = instructionSet;
+        this.loadOpCode = instructionSet.getLoadOpCode();
+        this.addressMap = new AddressMap(geometry.getDepth());
+        this.symbols = this.intermediateCode.getSymbols();
+        this.constants = this.intermediateCode.getConstants();
+        this.diagnostics = new Diagnostics(maxErrors);
+    }
+
+    // Setters
+
+    /**
+     * Setting the {@link Compile} encoding the rows while they are verified.
+     * @param compile a {@link Compile} built on {@link #getIntermediateCode()}
+     */
+    public void setCompile(Compile compile) {
+        this.compile = compile;
+    }
+
+    /**
+     * Setting the {@link Optimizer} run on the code before it is encoded.
+     * @param optimizer an {@link Optimizer} built on {@link #getIntermediateCode()}, null to not optimize
+     */
+    public void setOptimizer(Optimizer optimizer) {
+        this.optimizer = optimizer;
     }
 
     // Getters
@@ -60,424 +123,353 @@ public class VerifySyntax {
         return this.programMetadata;
     }
 
-    public List<String> getCode() {
-        return this.code;
+    /**
+     * Getting the verified code as {@link IntermediateCode}, empty if the syntax is not correct.
+     * @return the intermediate code filled by {@link #isSyntaxCorrect()}
+     */
+    public IntermediateCode getIntermediateCode() {
+        return this.intermediateCode;
     }
 
-    public TreeMap<Integer, LineType> getCodeLineType() {
-        return this.codeLineType;
+    /**
+     * Getting the errors collected by {@link #isSyntaxCorrect()}.
+     * @return the errors as {@link Diagnostics}
+     */
+    public Diagnostics getDiagnostics() {
+        return this.diagnostics;
     }
 
     /**
-     * Method to verify the syntax correctness.
+     * Verifies a trimmed code line.
+     * It appends a row to the {@link #intermediateCode} if the line is not empty,
+     * the line type is checked with the {@link Lexer}.
+     * A line with a syntax error is skipped.
+     * @param index the index of the line in the source code
+     * @param line the trimmed line
+     * @return boolean false if too many errors are found, to stop the reading
+     */
+    @Override
+    public boolean accept(int index, CharSequence line) {
+        if(this.diagnostics.isFull())
+            return false;
+
+        LineType lineType = this.lexer.scan(line);
+
+        // stores the start index
+        if(lineType == LineType.START && this.startIndex == -1)
+            this.startIndex = index;
+
+        // stores the last data index
+        if(lineType == LineType.DATA && index > this.lastDataIndex)
+            this.lastDataIndex = index;
+
+        // checks if the lexer returned a syntax error, the line is skipped
+        if(lineType == LineType.SYNTAX_ERROR) {
+            String error = this.lexer.getError();
+            this.diagnostics.error(index + 1, "[ERROR] Syntax error at line " + (index + 1) + "." + (error == null ? "" : " " + error));
+        } else if(lineType != LineType.EL) {
+            // writing the corresponding row
+            this.addRow(lineType, line, index);
+        }
+        return !this.diagnostics.isFull();
+    }
+
+    /**
+     * Method to verify the syntax correctness, once every line is passed to {@link #accept(int, CharSequence)}.
      * It logs program metadata and Syntax OK, if true
-     * It logs error, place of the error, type of the error if not.
-     * It generates line type in a <code>TreeMap</code> with the same size as the {@link #code}
-     * and stores it in {@link #codeLineType}.
-     * The code is inspected line by line, and checks each line the corresponding line type
-     * with the method {@link #whatLine(String[])}.
+     * It logs every error, place of the error, type of the error if not.
      * Checks for allowed data range declaration.
      * Checks for program and data ranges overlapping.
      * Checks for label start syntax requirement
      * Checks for duplicate labels
      * Checks for duplicate data declaration
      * Checks for general syntax guidelines.
-     * If there is an error, it will be aborted, and returns false, with error logs.
+     * If there are errors, they are logged once the verification is done, and returns false.
      * @return boolean true if syntax is correct
      */
     public boolean isSyntaxCorrect() {
-        int startIndex = -1;
-        int lastDataIndex = -1;
-
-        // retrieving every code line type
-        for(int i=0 ; i < this.code.size() ; i++) {
-            String[] lineArray = this.code.get(i).split(" ");
-            LineType lineType = this.whatLine(lineArray);
-
-            // stores the start index
-            if(lineType == LineType.START)
-                startIndex = i;
-
-            // stores the last data index
-            if(lineType == LineType.DATA && i > lastDataIndex)
-                lastDataIndex = i;
-
-            // checks if whatLine returned a syntax error
-            if(lineType == LineType.SYNTAX_ERROR) {
-                this.codeLineType.clear();
-                Log.error("[ERROR] Syntax error at line " + (i + 1) + ".");
-                return false;
-            }
-
-            // writing the corresponding data line type
-            this.codeLineType.put(i, lineType);
-        }
-
-        // generated a list of labels
-        this.fillLabelsList();
-
-        // checking if JMP instruction is pointing to a wrong label, abort if it is.
-        if(!this.labels.isEmpty()) {
-            for (int i = 0; i < this.codeLineType.size(); i++) {
-                if(this.codeLineType.get(i) == LineType.JUMP) {
-                    if(!this.labels.contains(Utils.getLabelFromJmp(this.code.get(i)))) {
-                        this.codeLineType.clear();
-                        Log.error("[ERROR] Syntax error at line " + (i + 1) + ". The label doesn't exist.");
-                        return false;
-                    }
-                }
+        int startIndex = this.startIndex;
+        int lastDataIndex = this.lastDataIndex;
+
+        // checking if JMP instructions are pointing to a wrong label
+        for (int r = 0; r < this.intermediateCode.size() && !this.diagnostics.isFull(); r++) {
+            if(this.intermediateCode.getLineType(r) == LineType.JUMP && !this.symbols.isDefined(this.intermediateCode.getOperand(r))) {
+                int line = this.intermediateCode.getSourceLine(r) + 1;
+                this.diagnostics.error(line, "[ERROR] Syntax error at line " + line + ". The label doesn't exist.");
             }
         }
 
         // checks if 'start:' label is present when data declaration is made
         if((startIndex == -1) && (lastDataIndex != -1)) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Data declared but 'start:' label is not found");
-            return false;
-        }
+            this.diagnostics.error("[ERROR] Data declared but 'start:' label is not found");
 
         // checks if the start: label is written after data declaration
-        if(lastDataIndex > startIndex) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Data is declared after 'start:' label at line: " + (lastDataIndex + 1) + ". The 'start:' label is at line: " + (startIndex + 1));
-            return false;
+        } else if(lastDataIndex > startIndex) {
+            this.diagnostics.error(lastDataIndex + 1, "[ERROR] Data is declared after 'start:' label at line: " + (lastDataIndex + 1) + ". The 'start:' label is at line: " + (startIndex + 1));
         }
 
-        // some local data for handling syntax
-        int duplicateStart = this.searchDuplicates(LineType.START);
-        int duplicateLabel = this.searchDuplicates(LineType.LABEL);
-        int duplicateData = this.searchDuplicates(LineType.DATA);
-        int[] firstMemory = this.firstDataMemory();
-        int programMemoryUsage = this.programMemoryUsage();
-        int dataMemoryUsage = this.dataMemoryUsage();
-        float totalUsed = (Math.round(((float) (programMemoryUsage + dataMemoryUsage) / 4096) * 1000f)) / 1000f;
-
-        // checks if there is a startL label duplication
-        if(duplicateStart > -1) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Duplicate start: label at " + (duplicateStart) + ".");
-            return false;
+        // optimizing the code, the program is placed again without the removed words,
+        // else the dead code is only reported
+        if(this.optimizer != null && !this.diagnostics.hasErrors()) {
+            int savedWords = this.optimizer.optimize();
+            this.placeProgram();
+            Log.info("[INFO] Optimization: " + savedWords + " words saved, " + this.optimizer.getThreadedJumps() + " jumps threaded, "
+                    + this.optimizer.getRemovedData() + " unreferenced data words removed");
+        } else if(!this.diagnostics.hasErrors() && Optimizer.supports(this.instructionSet)) {
+            this.reportDeadCode();
         }
 
-        // check if there is a duplicated data
-        if(duplicateLabel > -1) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Duplicate label at " + (duplicateLabel) + ".");
-            return false;
-        }
+        // placing the constants of the LDD instructions after the program
+        if(this.overlapLine == -1 && this.exceedsLine == -1)
+            this.placeConstantPool();
 
-        // checks if there is any duplicated data declaration
-        if(duplicateData > -1) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Duplicate data declaration at " + (duplicateData) + ".");
-            return false;
-        }
+        // some local data for handling syntax
+        int programMemoryUsage = this.programCounter;
+        int dataMemoryUsage = this.addressMap.getDataWords();
+        float totalUsed = (Math.round(((float) (programMemoryUsage + dataMemoryUsage) / this.geometry.getDepth()) * 1000f)) / 1000f;
 
-        // checks if data is declared in the allowed range
-        if(firstMemory[0] != -1 &&  firstMemory[0] < 16) {
-            this.codeLineType.clear();
-            Log.error("[ERROR] Data declaration is not allowed in this range [000h - 00F] at line " + firstMemory[1] + ".");
-            return false;
-        }
+        // checks if there is an overlap of program and data ranges
+        if(this.overlapLine > -1) {
+            this.diagnostics.error(this.overlapLine, "[ERROR] Your program is overlapping the data declaration range at line " + this.overlapLine + ". Please use a higher address memory for data declaration.");
 
         // checks if the program exceeds the memory capacity in program range
-        if(firstMemory[0] == -1 && programMemoryUsage > 4096) {
-            this.codeLineType.clear();
-            Log.info("[INFO] Program Memory Usage: " + programMemoryUsage + " bytes");
-            Log.info("[INFO] Data Memory Usage: 0 byte");
-            Log.info("[INFO] Total used: " + (programMemoryUsage/4096) + "%");
-            Log.error("[ERROR] Your program exceeds RAM capacity.");
-            return false;
+        } else if(this.exceedsLine > -1) {
+            this.diagnostics.error(this.exceedsLine, "[ERROR] Your program exceeds RAM capacity at line " + this.exceedsLine + ".");
+        }
 
-        // checks if there is an overlap of program and data ranges
-        } else if (firstMemory[0] != -1 && programMemoryUsage > firstMemory[0]) {
-            this.codeLineType.clear();
+        // logs the program memory usage, if relevant
+        if(!this.diagnostics.hasErrors() || this.overlapLine > -1 || this.exceedsLine > -1) {
             Log.info("[INFO] Program Memory Usage: " + programMemoryUsage + " bytes");
             Log.info("[INFO] Data Memory Usage: " + dataMemoryUsage + " byte");
             Log.info("[INFO] Total used: " + totalUsed + "%");
-            Log.error("[ERROR] Your program is overlapping the data declaration range. Please use a higher address memory for data declaration.");
+            if(this.constantWords > 0)
+                Log.info("[INFO] Constant Pool: " + this.constantWords + " words for " + this.immediateCount + " LDD instructions");
+        }
+
+        // reports every error and abort
+        if(this.diagnostics.hasErrors()) {
+            this.intermediateCode.clear();
+            this.diagnostics.report();
             return false;
         }
 
-        // if the method is not aborted, Logs the program memory usage and Syntax OK
-        Log.info("[INFO] Program Memory Usage: " + programMemoryUsage + " bytes");
-        Log.info("[INFO] Data Memory Usage: " + dataMemoryUsage + " byte");
-        Log.info("[INFO] Total used: " + totalUsed + "%");
+        // if the method is not aborted, Logs Syntax OK
         Log.info("[INFO] Syntax correct.");
 
-        // set the program metadata and return true
+        // set the program metadata, complete the compilation and return true
         this.setProgramMetadata();
+        if(this.compile != null) {
+            // the optimized rows are encoded now
+            if(this.optimizer != null) {
+                for (int r = 0; r < this.intermediateCode.size(); r++) {
+                    this.compile.encode(r);
+                }
+            }
+            this.compile.finish(this.programMetadata);
+        }
         return true;
     }
 
     /**
-     * Checks if the line is a label
-     * @param label the code line as <code>String</code> array
-     * @return a {@link LineType} as <code>LABEL</code> if true, otherwise <code>SYNTAX_ERROR</code>
+     * Returns what type of line of code is.
+     * The line is scanned by the {@link Lexer}.
+     * @param line a code line as a <code>String</code>
+     * @return a {@link LineType} according to the line type, otherwise <code>SYNTAX_ERROR</code>
      */
-    public LineType isLabel(String[] label) {
-        String labelStr = String.join(" ", label);
-//        int indexOfColumn = label[0].indexOf(":");
-
-        if(!labelStr.isEmpty()) {
-//            if(!String.join(" ", label).isEmpty() && !this.instSet.containsKey(label[0].replace(":", "")) && labelStr.substring(indexOfColumn+1).trim().isEmpty()) {
-//                return LineType.LABEL;
-//            } else {
-//                return LineType.SYNTAX_ERROR;
-//            }
-            Pattern labelPattern = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*:$");
-            Matcher labelMatcher = labelPattern.matcher(labelStr);
-            if(labelMatcher.find()) {
-                return LineType.LABEL;
-            } else {
-                return LineType.START;
-            }
-        } else {
-            return LineType.SYNTAX_ERROR;
-        }
+    public LineType whatLine(String line) {
+        return this.lexer.scan(line);
     }
 
     /**
-     * Checks if the line is the label start:
-     * @param str the code line as a <code>String</code> array
-     * @return a {@link LineType} <code>START</code>, otherwise <code>SYNTAX_ERROR</code>
+     * Appends the last scanned line to the {@link #intermediateCode},
+     * and encodes it with the {@link #compile} while there is no error.
+     * @param lineType the line type returned by the {@link #lexer}
+     * @param text the scanned line
+     * @param line the index of the line in the source code
      */
-    public LineType isStart(String[] str) {
-        if(this.isLabel(str) == LineType.LABEL) {
-            if(str[0].equals("START:"))
-                return LineType.START;
-            else
-                return LineType.SYNTAX_ERROR;
-        } else {
-            return LineType.SYNTAX_ERROR;
+    private void addRow(LineType lineType, CharSequence text, int line) {
+        int symbol;
+        int row;
+        switch (lineType) {
+            case DATA:
+                row = this.intermediateCode.add(lineType, this.lexer.getValue(), false, this.lexer.getOperand(), line);
+                this.markData(this.lexer.getOperand(), line);
+                break;
+            case LABEL:
+            case START:
+                // defining the label, every duplicate is an error
+                symbol = this.symbols.intern(text, this.lexer.getLabelStart(), this.lexer.getLabelEnd());
+                row = this.intermediateCode.add(lineType, 0, false, symbol, line);
+                if(this.symbols.define(symbol, row) != SymbolTable.UNDEFINED) {
+                    if(lineType == LineType.START)
+                        this.diagnostics.error(line + 1, "[ERROR] Duplicate start: label at " + (line + 1) + ".");
+                    else
+                        this.diagnostics.error(line + 1, "[ERROR] Duplicate label at " + (line + 1) + ".");
+                }
+                break;
+            case IMMEDIATE:
+                // the literal is interned into the constant pool, the LDD is encoded as a load from the pool
+                row = this.intermediateCode.add(lineType, this.loadOpCode, false, this.constants.intern(this.lexer.getOperand()), line);
+                this.immediateCount++;
+                this.markProgram(line);
+                break;
+            case JUMP:
+                // referencing the label, it may be defined later in the code
+                symbol = this.symbols.intern(text, this.lexer.getLabelStart(), this.lexer.getLabelEnd());
+                this.symbols.reference(symbol, line);
+                row = this.intermediateCode.add(lineType, this.lexer.getOpCode(this.lexer.getMnemonic()), false, symbol, line);
+                this.markProgram(line);
+                break;
+            default:
+                row = this.intermediateCode.add(lineType, this.lexer.getOpCode(this.lexer.getMnemonic()), this.lexer.isIndirect(), this.lexer.getOperand(), line);
+                this.markProgram(line);
+                break;
         }
+
+        if(this.compile != null && this.optimizer == null && !this.diagnostics.hasErrors())
+            this.compile.encode(row);
     }
 
     /**
-     * Checks if it is a data declaration
-     * @param str a code line as <code>String</code> array
-     * @return a {@link LineType} <code>DATA</code>, otherwise <code>SYNTAX_ERROR</code>
+     * Places the constants of the LDD instructions, in the order of their first use,
+     * on the free words after the program, skipping the declared data.
+     * The constants are tagged as data in the {@link #addressMap}.
+     * The constants of the LDD instructions removed by the {@link #optimizer} are not placed.
+     * The first constant out of the RAM is reported as exceeding the RAM capacity.
      */
-    private LineType isData(String[] str) {
-        if(str.length == 3) {
-            if(str[0].equals(".DATA") && Utils.is12bitsHexData(str[1]) && Utils.is16bitsHexData(str[2])) {
-                return LineType.DATA;
-            } else {
-                return LineType.SYNTAX_ERROR;
+    private void placeConstantPool() {
+        boolean[] used = new boolean[this.constants.size()];
+        int usedCount = 0;
+        for (int r = 0; r < this.intermediateCode.size(); r++) {
+            if(this.intermediateCode.getLineType(r) == LineType.IMMEDIATE && !used[this.intermediateCode.getOperand(r)]) {
+                used[this.intermediateCode.getOperand(r)] = true;
+                usedCount++;
             }
-        } else {
-            return LineType.SYNTAX_ERROR;
         }
-    }
 
-    /**
-     * Returns what type of line of code is.
-     * @param str a code line as a <code>String</code> array
-     * @return a {@link LineType} according to the line type, otherwise <code>SYNTAX_ERROR</code>
-     */
-    public LineType whatLine(String[] str) {
-        // convert the array into a String
-        String strStr = String.join(" ", str);
-        // checks if it is an empty line
-        if(!strStr.isEmpty()) {
-            // checks if it is a label
-            if (this.isLabel(str) == LineType.LABEL) {
-                // checks if the label is a start:
-                if(this.isStart(str) == LineType.START) {
-                    return LineType.START;
-                } else {
-                    return LineType.LABEL;
-                }
+        int address = Math.max(this.programCounter, AddressMap.RESERVED_WORDS);
+        for (int c = 0; c < this.constants.size(); c++) {
+            if(!used[c])
+                continue;
+            while (address < this.geometry.getDepth() && (this.addressMap.isData(address) || this.addressMap.isProgram(address)))
+                address++;
 
-            // checks if it is a dara declaration
-            } else if(this.isData(str) == LineType.DATA) {
-                return LineType.DATA;
-
-            // handles others cases
-            } else {
-                // checks if the first word is in the instruction set
-                if (this.instSet.containsKey(str[0])) {
-                    // checks if it has 2 keywords and the first keyword is an instruction waiting for an operand
-                    if (str.length == 2 && this.instSet.get(str[0]).getHasOperand()) {
-                        // checks if the operand is formatted as direct address (?check Utils)
-                        if (str[1].startsWith("0x") ^ str[1].endsWith("H")) {
-                            // Direct Instruction
-                            String hexCode = str[1].replace("0x", "").replace("H", "");
-                            // checks if the address is a valid hexadecimal number
-                            if (Utils.isValidHexNumber(hexCode)) {
-                                return LineType.INSTR_nI;
-                            } else {
-                                return LineType.SYNTAX_ERROR;
-                            }
-
-                        // checks if the operand is formatted as an indirect address (?check Utils)
-                        } else if ((str[1].startsWith("[0x") && str[1].endsWith("]")) ^ (str[1].startsWith("[") && str[1].endsWith("H]"))) {
-                            // Indirect Instruction
-                            String hexCode = str[1].replace("0x", "").replace("H", "").replace("[", "").replace("]", "");
-                            // checks if the address is a valid hexadecimal number
-                            if (Utils.isValidHexNumber(hexCode)) {
-                                return LineType.INSTR_I;
-                            } else {
-                                return LineType.SYNTAX_ERROR;
-                            }
-                        } else {
-                            return LineType.SYNTAX_ERROR;
-                        }
-
-                    // checks if the instruction is a JMP
-                    } else if(this.isJump(str)) {
-                        // JUMP instruction
-                        return LineType.JUMP;
-                    } else if (str.length == 1 && !this.instSet.get(str[0]).getHasOperand()) {
-                        // Other instructions (no operand)
-                        return LineType.INSTR;
-                    } else {
-                        return LineType.SYNTAX_ERROR;
-                    }
-                } else {
-                    return LineType.SYNTAX_ERROR;
-                }
+            if(address == this.geometry.getDepth()) {
+                this.diagnostics.error("[ERROR] The constant pool of the LDD instructions exceeds RAM capacity, " + (usedCount - this.constantWords) + " constants are left.");
+                return;
             }
-        } else {
-            return LineType.EL;
+            this.addressMap.markData(address);
+            this.constants.setAddress(c, address++);
+            this.constantWords++;
         }
     }
 
     /**
-     * Searches for duplication in the data declaration or duplicated labels
-     * @param lineType the line type as {@link LineType}, may be LABEL or DATA
-     * @return the duplicated data line index as an <code>int</code>. If no duplicate found, returns -1
+     * Reports the unreachable instructions, block by block, and the unreferenced data,
+     * found by the analysis of an {@link Optimizer}. Nothing is reported if the code can not be analyzed.
      */
-    private int searchDuplicates(LineType lineType) {
-
-        // check if the type is allowed to check duplication
-        if(Arrays.asList(LineType.DATA, LineType.LABEL, LineType.START).contains(lineType)) {
-            int count = 0;
-            List<String> dataList = new ArrayList<>();
-            String firstItem = "";
-
-            for (int i = 0; i < this.code.size(); i++) {
-                if(this.codeLineType.get(i) == lineType) {
-                    // process for DATA
-                    switch (lineType) {
-                        // Processing for DATA
-                        case DATA:
-                            // getting the duplication criteria for data : .data <add>
-                            String[] dataArr = this.code.get(i).split(" ");
-                            String data = dataArr[0] + " " + dataArr[1];
-
-                            // checking if the data criteria already exists
-                            if(dataList.contains(data)) {
-                                return i+1;
-                            } else {
-                                dataList.add(data);
-                            }
-                            break;
-
-                        // Processing for LABEL and START
-                        case LABEL:
-                        case START:
-                            switch (count) {
-                                // no occurrence process
-                                case 0:
-                                    // set the first occurrence in firstItem, and increment count
-                                    firstItem = this.code.get(i);
-                                    count++;
-                                    break;
-
-                                // occurred once process
-                                case 1:
-                                    // checks if the corresponding code line matches the first occurrence
-                                    if(firstItem.equals(this.code.get(i))) {
-                                        return i+1;
-                                    }
-                                    break;
-                            }
-                            break;
-                    }
-                }
+    private void reportDeadCode() {
+        Optimizer analysis = new Optimizer(this.intermediateCode, this.instructionSet);
+        if(!analysis.analyze())
+            return;
+
+        int deadWords = 0;
+        int deadData = 0;
+        int blockLine = -1;
+        int blockWords = 0;
+        for (int r = 0; r <= this.intermediateCode.size(); r++) {
+            boolean end = r == this.intermediateCode.size();
+            if(!end && this.intermediateCode.isInstruction(r) && !analysis.isReachable(r)) {
+                if(blockWords++ == 0)
+                    blockLine = this.intermediateCode.getSourceLine(r) + 1;
+                deadWords++;
+            } else if(end || (this.intermediateCode.isInstruction(r) && blockWords > 0)) {
+                if(blockWords > 0)
+                    Log.warning("[WARNING] Unreachable code at line " + blockLine + ": " + blockWords + " words.");
+                blockWords = 0;
             }
 
+            if(!end && this.intermediateCode.getLineType(r) == LineType.DATA && !analysis.isReferenced(r)) {
+                Log.warning("[WARNING] The data declared at line " + (this.intermediateCode.getSourceLine(r) + 1) + " is never referenced.");
+                deadData++;
+            }
         }
 
-        // no duplication or LineType not allowed for duplication check
-        return -1;
+        if(deadWords + deadData > 0)
+            Log.warning("[WARNING] Dead code: " + deadWords + " unreachable words, " + deadData + " unreferenced data words. Use -O to remove them.");
     }
 
     /**
-     * Returns the address of the first data declaration in <code>int</code>
-     * with its corresponding line number in code.
-     * The method support the use of data declaration in an unordered address.
-     * @return an array of 2 <code>int</code> elements containing
-     * in <code>[0]</code> the first data declaration address
-     * in <code>[1]</code> its corresponding line number in code.
+     * Places the program and the data again, once the code is optimized.
+     * The overlapping and exceeding lines are searched again, and the LDD instructions counted again.
      */
-    private int[] firstDataMemory() {
-
-        int firstData = -1;
-        int currentData;
-        int lineNumber = -1;
-
-        for (int i = 0; i < this.code.size(); i++) {
-            // processing only data declaration lines
-            if(this.codeLineType.get(i) == LineType.DATA) {
-                // set the current data for comparison
-                currentData = Integer.parseInt(Utils.getDataAddress(this.code.get(i)), 16);
-
-                // compare if the first data address is not yet set OR if current is less than the first
-                if(firstData == -1 || currentData < firstData) {
-                    // override the first address with the current, and set its line number
-                    firstData = currentData;
-                    lineNumber = i;
-                }
+    private void placeProgram() {
+        this.addressMap = new AddressMap(this.geometry.getDepth());
+        this.programCounter = 0;
+        this.immediateCount = 0;
+        this.overlapLine = -1;
+        this.exceedsLine = -1;
+        for (int r = 0; r < this.intermediateCode.size(); r++) {
+            if(this.intermediateCode.getLineType(r) == LineType.DATA) {
+                this.markData(this.intermediateCode.getOperand(r), this.intermediateCode.getSourceLine(r));
+            } else if(this.intermediateCode.isInstruction(r)) {
+                if(this.intermediateCode.getLineType(r) == LineType.IMMEDIATE)
+                    this.immediateCount++;
+                this.markProgram(this.intermediateCode.getSourceLine(r));
             }
         }
-
-        return new int[]{firstData, lineNumber + 1};
     }
 
     /**
-     * Returning the program memory usage by counting how many instructions is used in the program
-     * Counted line types are INSTR, INSTR_I, INSTR_nI, JUMP
-     * @return memory usage as <code>int</code>.
+     * Tags a data declaration in the {@link #addressMap}.
+     * Duplicate and reserved range errors are collected for every declaration,
+     * the first overlapping or exceeding line is kept for the error log.
+     * @param address the declared address
+     * @param line the index of the line in the source code
      */
-    private int programMemoryUsage() {
-        int memoryCount = 0;
-
-        for (int i = 0; i < this.code.size(); i++) {
-            // current line type and countable line types
-            LineType currentLineType = this.codeLineType.get(i);
-            List<LineType> memoryInstructions = Arrays.asList(LineType.INSTR, LineType.INSTR_I, LineType.INSTR_nI, LineType.JUMP);
-
-            // count if the line type corresponds
-            if(memoryInstructions.contains(currentLineType)) {
-                memoryCount++;
-            }
+    private void markData(int address, int line) {
+        switch (this.addressMap.markData(address)) {
+            case DUPLICATE:
+                this.diagnostics.error(line + 1, "[ERROR] Duplicate data declaration at " + (line + 1) + ".");
+                break;
+            case RESERVED:
+                this.diagnostics.error(line + 1, "[ERROR] Data declaration is not allowed in this range [000h - 00F] at line " + (line + 1) + ".");
+                break;
+            case OVERLAP:
+                if(this.overlapLine == -1)
+                    this.overlapLine = line + 1;
+                break;
+            case OUT_OF_RANGE:
+                if(this.exceedsLine == -1)
+                    this.exceedsLine = line + 1;
+                break;
+            default:
+                break;
         }
-
-        return memoryCount;
     }
 
     /**
-     * Returning data memory usage by counting how many data declarations are made
-     * @return data memory usage as <code>int</code>.
+     * Tags the next program word in the {@link #addressMap}.
+     * The program is placed from the address 0.
+     * @param line the index of the line in the source code
      */
-    private int dataMemoryUsage() {
-        int memoryCount = 0;
-
-        for (int i = 0; i < this.code.size(); i++) {
-            LineType currentLineType = this.codeLineType.get(i);
-            // count if the line type is data declaration
-            if(currentLineType == LineType.DATA) {
-                memoryCount++;
-            }
+    private void markProgram(int line) {
+        switch (this.addressMap.markProgram(this.programCounter++)) {
+            case OVERLAP:
+                if(this.overlapLine == -1)
+                    this.overlapLine = line + 1;
+                break;
+            case OUT_OF_RANGE:
+                if(this.exceedsLine == -1)
+                    this.exceedsLine = line + 1;
+                break;
+            default:
+                break;
         }
-
-        return memoryCount;
     }
 
     /**
-     * Set the program metadata
+     * Set the program metadata from the {@link #addressMap}
      * Sets:
      * <ul>
      *     <li>Program memory usage</li>
@@ -489,53 +481,11 @@ public class VerifySyntax {
      * </ul>
      */
     private void setProgramMetadata() {
-        this.programMetadata.setDataMemoryUsage(this.dataMemoryUsage());
-        this.programMetadata.setProgramMemoryUsage(this.programMemoryUsage());
-        this.programMetadata.setFirstDataMemory(this.firstDataMemory()[0]);
-        this.programMetadata.setDataDataRange(new DataRange(this.firstDataMemory()[0], 4095));
-        this.programMetadata.setProgramDataRange(new DataRange(0, this.programMemoryUsage()));
-        this.programMetadata.setHasDataDeclaration(this.hasDataDeclaration());
-    }
-
-    /**
-     * Checking if code has data declaration: <code>.data</code> syntax.
-     * @return boolean true if there is data declaration
-     */
-    private boolean hasDataDeclaration() {
-        for (int i = 0; i < this.codeLineType.size(); i++) {
-            if(this.codeLineType.get(i) == LineType.DATA) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Fills the <code>List</code> of labels used in the code.
-     * It writes on {@link #labels} field.
-     */
-    private void fillLabelsList() {
-        // checks if there is items in the list line type
-        if(!this.codeLineType.isEmpty()) {
-            for (int i = 0; i < this.codeLineType.size(); i++) {
-                // add labels and 'start:' label
-                if(this.codeLineType.get(i) == LineType.LABEL || this.codeLineType.get(i) == LineType.START) {
-                    this.labels.add(Utils.cleanLabel(this.code.get(i)));
-                }
-            }
-        }
-    }
-
-    /**
-     * Checks if a line provided as an <code>Array</code> is a JMP instruction
-     * @param str the code line as <code>Array</code>
-     * @return boolean true if the code line is a JMP instruction.
-     */
-    private boolean isJump(String[] str) {
-        if(str.length == 2) {
-            return str[0].equals("JMP");
-        } else {
-            return false;
-        }
+        this.programMetadata.setDataMemoryUsage(this.addressMap.getDataWords());
+        this.programMetadata.setProgramMemoryUsage(this.addressMap.getProgramWords());
+        this.programMetadata.setFirstDataMemory(this.addressMap.firstData());
+        this.programMetadata.setDataDataRange(this.addressMap.getDataRange());
+        this.programMetadata.setProgramDataRange(this.addressMap.getProgramRange());
+        this.programMetadata.setHasDataDeclaration(this.addressMap.getDataWords() > 0);
     }
 }
@@ -1,7 +1,7 @@
 /*
  * File: Log.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:24
  *
  * This file: Log.java is part of BProC-CLI project.
  *
@@ -27,39 +27,51 @@ import com.jugubell.bproccli.utils.Constants;
 import com.jugubell.bproccli.utils.Utils;
 import com.jugubell.bproccli.cli.CommandLine;
 
+import java.io.PrintStream;
+
 /**
  * Static class for logging texts, info, warnings and errors.
  * It logs also the version and help for the CLI: {@link CommandLine}
  * @author Jugurtha Bellagh
  */
 public class Log {
+    private static PrintStream out = System.out;
+
+    /**
+     * Writes the texts, info, warnings and errors to the standard error,
+     * used when the compiled code is written to the standard output.
+     */
+    public static void useStandardError() {
+        out = System.err;
+    }
+
     public static void text(String message) {
         if(Utils.supportsColor())
-            System.out.println(ConsoleColor.DEFAULT + message);
+            out.println(ConsoleColor.DEFAULT + message);
         else
-            System.out.println(message);
+            out.println(message);
     }
 
     public static void info(String message) {
         if(Utils.supportsColor())
-            System.out.println(ConsoleColor.INFO + message + ConsoleColor.DEFAULT);
+            out.println(ConsoleColor.INFO + message + ConsoleColor.DEFAULT);
         else
-            System.out.println(message);
+            out.println(message);
 
     }
 
     public static void warning(String message) {
         if(Utils.supportsColor())
-            System.out.println(ConsoleColor.WARNING + message + ConsoleColor.DEFAULT);
+            out.println(ConsoleColor.WARNING + message + ConsoleColor.DEFAULT);
         else
-            System.out.println(message);
+            out.println(message);
     }
 
     public static void error(String message) {
         if(Utils.supportsColor())
-            System.out.println(ConsoleColor.ERROR + message + ConsoleColor.DEFAULT);
+            out.println(ConsoleColor.ERROR + message + ConsoleColor.DEFAULT);
         else
-            System.out.println(message);
+            out.println(message);
     }
 
     public static void help() {
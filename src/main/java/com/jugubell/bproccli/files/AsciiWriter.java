@@ -0,0 +1,212 @@
+/*
+ * File: AsciiWriter.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:22
+ *
+ * This file: AsciiWriter.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer of ASCII text into a byte channel.
+ * <p>The text is encoded straight into a reusable <code>ByteBuffer</code>, with precomputed
+ * tables for the hexadecimal digits and the binary nibbles, so writing a word creates
+ * no <code>String</code>. The buffer is written to the channel when it is full and on {@link #flush()},
+ * so a whole output file usually goes to the channel in a single write.</p>
+ * @author Jugurtha Bellagh
+ */
+public class AsciiWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte[] HEX_UPPER = ascii("0123456789ABCDEF");
+    private static final byte[] HEX_LOWER = ascii("0123456789abcdef");
+    private static final byte[] BIN_NIBBLES = new byte[16 * 4];
+    private static final byte[] LINE_SEPARATOR = ascii(System.lineSeparator());
+
+    static {
+        for (int n = 0; n < 16; n++) {
+            for (int b = 0; b < 4; b++) {
+                BIN_NIBBLES[n * 4 + b] = (byte) ('0' + ((n >>> (3 - b)) & 1));
+            }
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] digits = new byte[10];
+
+    /**
+     * Constructor of {@link AsciiWriter}
+     * @param channel the destination channel, it is not closed by the writer
+     */
+    public AsciiWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes an ASCII character.
+     * @param c the character
+     * @return this writer
+     */
+    public AsciiWriter put(char c) throws IOException {
+        this.ensure(1);
+        this.buffer.put((byte) c);
+        return this;
+    }
+
+    /**
+     * Writes an ASCII text.
+     * @param text the text, every character is expected to be ASCII
+     * @return this writer
+     */
+    public AsciiWriter put(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            this.ensure(1);
+            this.buffer.put((byte) text.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the line separator of the system.
+     * @return this writer
+     */
+    public AsciiWriter newLine() throws IOException {
+        this.ensure(LINE_SEPARATOR.length);
+        this.buffer.put(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Writes a value as uppercase hexadecimal digits, padded with zeros.
+     * @param value the value
+     * @param count the number of digits
+     * @return this writer
+     */
+    public AsciiWriter putHex(int value, int count) throws IOException {
+        return this.putHex(value, count, HEX_UPPER);
+    }
+
+    /**
+     * Writes a value as lowercase hexadecimal digits, padded with zeros.
+     * @param value the value
+     * @param count the number of digits
+     * @return this writer
+     */
+    public AsciiWriter putHexLowerCase(int value, int count) throws IOException {
+        return this.putHex(value, count, HEX_LOWER);
+    }
+
+    /**
+     * Writes a value as binary digits, 4 bits at a time
+     * after the leading bits if the number of bits is not a multiple of 4.
+     * @param value the value
+     * @param bits the number of bits
+     * @return this writer
+     */
+    public AsciiWriter putBinary(int value, int bits) throws IOException {
+        this.ensure(bits);
+        int shift = bits - 1;
+        for (; (shift & 3) != 3; shift--) {
+            this.buffer.put((byte) ('0' + ((value >>> shift) & 1)));
+        }
+        for (shift -= 3; shift >= 0; shift -= 4) {
+            this.buffer.put(BIN_NIBBLES, ((value >>> shift) & 0xF) * 4, 4);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a positive value as decimal digits.
+     * @param value the value, not negative
+     * @return this writer
+     */
+    public AsciiWriter putDecimal(int value) throws IOException {
+        int i = this.digits.length;
+        do {
+            this.digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+
+        this.ensure(this.digits.length - i);
+        this.buffer.put(this.digits, i, this.digits.length - i);
+        return this;
+    }
+
+    /**
+     * Writes the low bytes of a value as is, for the binary formats.
+     * @param value the value
+     * @param count the number of bytes, from 1 to 4
+     * @param byteOrder the order of the bytes
+     * @return this writer
+     */
+    public AsciiWriter putBytes(int value, int count, ByteOrder byteOrder) throws IOException {
+        this.ensure(count);
+        if(byteOrder == ByteOrder.BIG_ENDIAN) {
+            for (int shift = (count - 1) * 8; shift >= 0; shift -= 8)
+                this.buffer.put((byte) (value >>> shift));
+        } else {
+            for (int shift = 0; shift < count * 8; shift += 8)
+                this.buffer.put((byte) (value >>> shift));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    private AsciiWriter putHex(int value, int count, byte[] table) throws IOException {
+        this.ensure(count);
+        for (int shift = (count - 1) * 4; shift >= 0; shift -= 4) {
+            this.buffer.put(table[(value >>> shift) & 0xF]);
+        }
+        return this;
+    }
+
+    /**
+     * Flushing the buffer if there is not enough room left.
+     */
+    private void ensure(int length) throws IOException {
+        if (this.buffer.remaining() < length) {
+            this.flush();
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * File: DigestChannel.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:33
+ *
+ * This file: DigestChannel.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.files;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+
+/**
+ * Byte channel feeding a message digest instead of a file.
+ * It is used by {@link WriteHexFile} to hash a rendered content without keeping it.
+ * @author Jugurtha Bellagh
+ */
+public class DigestChannel implements WritableByteChannel {
+    private final MessageDigest digest;
+
+    /**
+     * Constructor of {@link DigestChannel}
+     * @param digest the digest updated with every written byte
+     */
+    public DigestChannel(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        int length = src.remaining();
+        this.digest.update(src);
+        return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * File: Emitter.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:27
+ *
+ * This file: Emitter.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.files;
+
+import java.io.IOException;
+
+/**
+ * Producer of an output content, encoded as ASCII bytes into an {@link AsciiWriter}.
+ * It is used by {@link WriteHexFile} to write the compiled code without building it in memory first.
+ * @author Jugurtha Bellagh
+ */
+public interface Emitter {
+    /**
+     * Writes the content.
+     * @param out the destination of the content
+     * @throws IOException if the writing fails
+     */
+    void emit(AsciiWriter out) throws IOException;
+}
@@ -0,0 +1,312 @@
+/*
+ * File: InstructionSetFile.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:44
+ *
+ * This file: InstructionSetFile.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+
+package com.jugubell.bproccli.files;
+
+import com.jugubell.bproccli.console.Log;
+import com.jugubell.bproccli.utils.InstructionSet;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class for the instruction set definition file reading.
+ * <p>The definition file has one instruction per line, the fields are separated by blanks
+ * and the comments start with '#' or ';':</p>
+ * <pre>
+ * # mnemonic  opcode  operand  type
+ * LDA         0x2000  both     load
+ * BIN         0x4000  both     branch
+ * CLA         0x7800  none     hw
+ * </pre>
+ * <ul>
+ *     <li>mnemonic: 1 to 4 letters or digits, starting with a letter, JMP and LDD are reserved</li>
+ *     <li>opcode: 16 bits, with the <code>0x</code> prefix or the <code>h</code> suffix.
+ *     The opcode of an instruction with an operand has its 12 lower bits and its indirect bit cleared</li>
+ *     <li>operand: <code>none</code>, <code>direct</code> or <code>both</code> (direct and indirect)</li>
+ *     <li>type: <code>hw</code>, <code>branch</code> for the unconditional branch used to encode JMP,
+ *     or <code>load</code> for the load of A used to encode LDD</li>
+ * </ul>
+ * <p>The definition is compiled once into an {@link InstructionSet} and cached in a binary form
+ * in the user cache directory, named after the SHA-256 of the definition. The next runs
+ * with the same definition read the cached table without parsing nor checking the definition.</p>
+ * @author Jugurtha Bellagh
+ */
+public class InstructionSetFile {
+    private static final int CACHE_MAGIC = 0x42504953; // BPIS
+    private static final int CACHE_VERSION = 2;
+    private static final String CACHE_EXTENSION = ".isc";
+
+    private final String filePath;
+
+    /**
+     * Constructor of {@link InstructionSetFile}
+     * @param filePath path of the definition file as <code>String</code>
+     */
+    public InstructionSetFile(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Loads the instruction set, from the cache if the definition is already compiled.
+     * The errors of the definition are logged.
+     * @return the {@link InstructionSet}, null if the definition can not be read or is not valid
+     */
+    public InstructionSet load() {
+        byte[] definition;
+        try {
+            definition = Files.readAllBytes(Paths.get(this.filePath));
+        } catch (IOException | InvalidPathException e) {
+            Log.error("[ERROR] The instruction set file can not be read: " + e.getMessage());
+            return null;
+        }
+
+        Path cache = null;
+        try {
+            cache = cacheDirectory().resolve(WriteHexFile.toHex(WriteHexFile.newDigest().digest(definition)) + CACHE_EXTENSION);
+            if(Files.isRegularFile(cache)) {
+                return readCache(cache);
+            }
+        } catch (IOException | InvalidPathException e) {
+            // a missing or broken cache is rebuilt from the definition
+        }
+
+        InstructionSet instructionSet = this.parse(new String(definition, StandardCharsets.UTF_8));
+        if(instructionSet != null && cache != null) {
+            writeCache(cache, instructionSet);
+        }
+        return instructionSet;
+    }
+
+    /**
+     * Parses and checks the definition.
+     * @param definition the content of the definition file
+     * @return the {@link InstructionSet}, null if there is an error
+     */
+    private InstructionSet parse(String definition) {
+        String[] lines = definition.split("\r?\n|\r");
+        int[] keys = new int[lines.length + 2];
+        int[] opCodes = new int[lines.length + 2];
+        int[] flags = new int[lines.length + 2];
+        Set<String> names = new HashSet<>();
+        int size = 0;
+        boolean branch = false;
+        boolean load = false;
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int comment = indexOfComment(line);
+            String[] fields = line.substring(0, comment).trim().toUpperCase().split("[ \t]+");
+            if(fields.length == 1 && fields[0].isEmpty())
+                continue;
+
+            String error = null;
+            int opCode = fields.length > 1 ? parseOpCode(fields[1]) : -1;
+            int flag = fields.length > 2 ? parseOperand(fields[2]) : -1;
+            int type = fields.length > 3 ? parseType(fields[3]) : -1;
+
+            if(fields.length != 4) {
+                error = "4 fields expected: mnemonic opcode operand type";
+            } else if(!fields[0].matches("[A-Z][A-Z0-9]{0," + (InstructionSet.MAX_NAME_LENGTH - 1) + "}")) {
+                error = "invalid mnemonic '" + fields[0] + "'";
+            } else if(fields[0].equals(InstructionSet.JUMP) || fields[0].equals(InstructionSet.IMMEDIATE)) {
+                error = "the mnemonic " + fields[0] + " is reserved";
+            } else if(!names.add(fields[0])) {
+                error = "duplicate mnemonic " + fields[0];
+            } else if(opCode < 0) {
+                error = "invalid opcode '" + fields[1] + "'";
+            } else if(flag < 0) {
+                error = "invalid operand '" + fields[2] + "', expected none, direct or both";
+            } else if(type < 0) {
+                error = "invalid type '" + fields[3] + "', expected hw, branch or load";
+            } else if(flag != 0 && (opCode & 0x8FFF) != 0) {
+                error = "the opcode of an instruction with an operand must have its 12 lower bits and indirect bit cleared";
+            } else if(type == InstructionSet.BRANCH && (branch || flag == 0)) {
+                error = branch ? "only one branch instruction is allowed" : "the branch instruction needs an operand";
+            } else if(type == InstructionSet.LOAD && (load || flag == 0)) {
+                error = load ? "only one load instruction is allowed" : "the load instruction needs an operand";
+            }
+
+            if(error != null) {
+                Log.error("[ERROR] Instruction set file, line " + (i + 1) + ": " + error + ".");
+                return null;
+            }
+
+            branch |= type == InstructionSet.BRANCH;
+            load |= type == InstructionSet.LOAD;
+            keys[size] = InstructionSet.pack(fields[0]);
+            opCodes[size] = opCode;
+            flags[size] = flag | InstructionSet.HARDWARE | type;
+            size++;
+        }
+
+        if(size == 0) {
+            Log.error("[ERROR] The instruction set file has no instruction.");
+            return null;
+        }
+
+        // the JMP software instruction is available with a branch instruction
+        if(branch) {
+            keys[size] = InstructionSet.pack(InstructionSet.JUMP);
+            size++;
+        }
+        // the LDD software instruction is available with a load instruction
+        if(load) {
+            keys[size] = InstructionSet.pack(InstructionSet.IMMEDIATE);
+            flags[size] = InstructionSet.OPERAND;
+            size++;
+        }
+        return new InstructionSet(Arrays.copyOf(keys, size), Arrays.copyOf(opCodes, size), Arrays.copyOf(flags, size));
+    }
+
+    /**
+     * Reads a cached instruction set.
+     * @param cache the cache file
+     * @return the {@link InstructionSet}
+     * @throws IOException if the cache is not readable or not a cache of this version
+     */
+    private static InstructionSet readCache(Path cache) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(cache))) {
+            if(in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION) {
+                throw new IOException("Unknown cache format");
+            }
+            int size = in.readInt();
+            int[] keys = new int[size];
+            int[] opCodes = new int[size];
+            int[] flags = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = in.readInt();
+                opCodes[i] = in.readUnsignedShort();
+                flags[i] = in.readUnsignedByte();
+            }
+            return new InstructionSet(keys, opCodes, flags);
+        }
+    }
+
+    /**
+     * Writes the cache of an instruction set, through a temporary file renamed over the cache file.
+     * The cache is optional, a failure is ignored.
+     * @param cache the cache file
+     * @param instructionSet the compiled instruction set
+     */
+    private static void writeCache(Path cache, InstructionSet instructionSet) {
+        Path temp = null;
+        try {
+            Files.createDirectories(cache.getParent());
+            temp = Files.createTempFile(cache.getParent(), "isa", ".tmp");
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                out.writeInt(instructionSet.size());
+                for (int id = 0; id < instructionSet.size(); id++) {
+                    out.writeInt(instructionSet.getKey(id));
+                    out.writeShort(instructionSet.getOpCode(id));
+                    out.writeByte(instructionSet.getFlags(id));
+                }
+            }
+            try {
+                Files.move(temp, cache, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | SecurityException e) {
+            try {
+                if(temp != null)
+                    Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // nothing left to clean
+            }
+        }
+    }
+
+    /**
+     * Getting the cache directory: $XDG_CACHE_HOME/bproc, or ~/.cache/bproc.
+     * @return the directory path
+     */
+    private static Path cacheDirectory() {
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        Path base = (xdg != null && !xdg.isEmpty()) ? Paths.get(xdg) : Paths.get(System.getProperty("user.home"), ".cache");
+        return base.resolve("bproc");
+    }
+
+    private static int indexOfComment(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if(line.charAt(i) == '#' || line.charAt(i) == ';')
+                return i;
+        }
+        return line.length();
+    }
+
+    /**
+     * Parses a 16 bits opcode written with the <code>0x</code> prefix or the <code>h</code> suffix.
+     * @return the opcode, -1 if not valid
+     */
+    private static int parseOpCode(String field) {
+        if(field.startsWith("0X") == field.endsWith("H"))
+            return -1;
+        String digits = field.startsWith("0X") ? field.substring(2) : field.substring(0, field.length() - 1);
+        if(digits.isEmpty() || digits.length() > 4 || !digits.matches("[0-9A-F]+"))
+            return -1;
+        return Integer.parseInt(digits, 16);
+    }
+
+    private static int parseOperand(String field) {
+        switch (field) {
+            case "NONE":
+                return 0;
+            case "DIRECT":
+                return InstructionSet.OPERAND;
+            case "BOTH":
+                return InstructionSet.OPERAND | InstructionSet.INDIRECT;
+            default:
+                return -1;
+        }
+    }
+
+    private static int parseType(String field) {
+        switch (field) {
+            case "HW":
+                return 0;
+            case "BRANCH":
+                return InstructionSet.BRANCH;
+            case "LOAD":
+                return InstructionSet.LOAD;
+            default:
+                return -1;
+        }
+    }
+}
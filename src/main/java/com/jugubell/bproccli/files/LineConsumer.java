@@ -0,0 +1,38 @@
+/*
+ * File: LineConsumer.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:23
+ *
+ * This file: LineConsumer.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.files;
+
+/**
+ * Consumer of the trimmed source lines streamed by {@link ReadAssemblerFile}.
+ * @author Jugurtha Bellagh
+ */
+public interface LineConsumer {
+    /**
+     * Consumes a trimmed line. The line is a view valid only during the call.
+     * @param index the index of the line in the source, starting from 0
+     * @param line the trimmed and uppercased line
+     * @return boolean true to keep reading, false to stop
+     */
+    boolean accept(int index, CharSequence line);
+}
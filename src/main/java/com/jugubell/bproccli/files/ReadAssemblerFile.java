@@ -1,7 +1,7 @@
 /*
  * File: ReadAssemblerFile.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 08:23
  *
  * This file: ReadAssemblerFile.java is part of BProC-CLI project.
  *
@@ -27,20 +27,41 @@ import com.jugubell.bproccli.cli.PathType;
 import com.jugubell.bproccli.console.Log;
 import com.jugubell.bproccli.utils.Utils;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Class for the assembler file reading.
+ * <p>The file is streamed through memory-mapped windows of a bounded size and scanned once,
+ * byte by byte: the comments are removed, the lines are trimmed and uppercased directly
+ * from the mapped bytes into a reusable {@link SourceLine}, which is handed to a
+ * {@link LineConsumer} as soon as the line ends. Neither the raw nor the trimmed
+ * content of the file is kept by the reader.</p>
+ * <p>Only the reading is streamed, the memory of the reader is bounded whatever the size of the file.
+ * The consumer keeps what it needs of the lines, {@link com.jugubell.bproccli.compiler.VerifySyntax}
+ * keeps every verified row.</p>
+ * <p>The path '-' reads the standard input through a channel, chunk by chunk,
+ * with the same scanning.</p>
  * @author Jugurtha Bellagh
  */
 public class ReadAssemblerFile {
+    private static final int WINDOW_SIZE = 1 << 20;
+    private static final int STREAM_CHUNK_SIZE = 1 << 16;
+
     private String filePath;
-    private final List<String> trimmedData = new ArrayList<>();
-    private final List<String> fileData = new ArrayList<>();
+
+    // scanning state, kept across the windows
+    private final SourceLine line = new SourceLine();
+    private int lineIndex;
+    private int end;
+    private boolean comment;
+    private boolean stopped;
 
     /**
      * Constructor for the {@link ReadAssemblerFile} class.
@@ -52,88 +73,158 @@ public class ReadAssemblerFile {
 
     /**
      * Method for reading the file, the extension should be '.bpasm'
-     * Writes the file content into {@link #fileData}
-     * Uses {@link #trimFile()} to trim the file content.
+     * Streams the trimmed lines of the file into the consumer.
+     * Uses {@link #trim(ByteBuffer, LineConsumer)} to trim the file content.
+     * The reading stops early if the consumer returns false.
+     * @param consumer the consumer of the trimmed lines
      * @return boolean true if read success
      */
-    public boolean readFile() {
-        try {
-            File asmFile = new File(this.getFilePath());
-            Scanner asmScanner = new Scanner(asmFile);
-
-            // getting the file name and file extension
-            String fileName = asmFile.getName();
-            String fileExtension = fileName.substring(fileName.lastIndexOf(".")+1);
-
-            // checks the extension
-            if(Utils.checkPath(this.getFilePath()) == PathType.FILE_EXISTS) {
-                // checks if the file has content
-                if(asmScanner.hasNextLine()) {
-                    // writing the file content into fileData field
-                    while (asmScanner.hasNextLine()) {
-                        this.fileData.add(asmScanner.nextLine());
-                    }
-
-                // aborting if file empty
-                } else {
-                    Log.warning("[WARNING] The file provided is empty.");
-                    asmScanner.close();
-                    return false;
-                }
-
-            // aborting if file extension is not correct
-            } else {
-                Log.error("[ERROR] Your provided file doesn't exist or the extension is wrong. Please choose a .bpasm file.");
+    public boolean readFile(LineConsumer consumer) {
+        PathType pathType = Utils.checkPath(this.getFilePath());
+
+        // reads the standard input
+        if(pathType == PathType.STANDARD_STREAM) {
+            return this.readStandardInput(consumer);
+        }
+
+        // checks the extension
+        if(pathType != PathType.FILE_EXISTS) {
+            Log.error("[ERROR] Your provided file doesn't exist or the extension is wrong. Please choose a .bpasm file.");
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(this.getFilePath()), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // aborting if file empty
+            if(size == 0) {
+                Log.warning("[WARNING] The file provided is empty.");
                 return false;
             }
 
-            // closing the opened file and trimming the content into trimmedData by trimFile();
-            asmScanner.close();
-            this.trimFile();
+            // mapping the file window by window and streaming the trimmed lines
+            this.reset();
+            for (long position = 0; position < size && !this.stopped; position += WINDOW_SIZE) {
+                this.trim(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position)), consumer);
+            }
+            this.endOfFile(consumer);
             return true;
 
         // throws exception if file not opened
-        } catch (FileNotFoundException e) {
+        } catch (IOException | InvalidPathException e) {
             Log.error("[ERROR] An error was occurred: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Streams the trimmed lines of the standard input into the consumer.
+     * The input is read in chunks into a reused buffer, until the end of the stream.
+     * @param consumer the consumer of the trimmed lines
+     * @return boolean true if read success
+     */
+    private boolean readStandardInput(LineConsumer consumer) {
+        ReadableByteChannel channel = Channels.newChannel(System.in);
+        ByteBuffer buffer = ByteBuffer.allocate(STREAM_CHUNK_SIZE);
+        long size = 0;
+
+        try {
+            this.reset();
+            int read;
+            while (!this.stopped && (read = channel.read(buffer)) != -1) {
+                size += read;
+                buffer.flip();
+                this.trim(buffer, consumer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            Log.error("[ERROR] An error was occurred: " + e.getMessage());
+            return false;
+        }
+
+        // aborting if the input is empty
+        if(size == 0) {
+            Log.warning("[WARNING] The standard input is empty.");
+            return false;
+        }
+        this.endOfFile(consumer);
+        return true;
+    }
+
     // Getters
     public String getFilePath() {
         return this.filePath;
     }
 
-    public List<String> getTrimmedData() {
-        return this.trimmedData;
-    }
-
     // Setters
     public void setFilePath(String filePath) {
         this.filePath = filePath;
     }
 
+    /**
+     * Resets the scanning state before reading.
+     */
+    private void reset() {
+        this.line.setLength(0);
+        this.lineIndex = 0;
+        this.end = 0;
+        this.comment = false;
+        this.stopped = false;
+    }
 
     /**
-     * Trims the file content and store the trimmed content
-     * and stores the trimmed data in {@link #trimmedData}.
+     * Trims the content of a buffer in one pass over the bytes,
+     * and hands every completed line to the consumer.
+     * A line may span over several buffers.
      * It removes comments (starting with ';')
-     * It removes extra spaces.
-     * Uppercases everything.
+     * It removes extra spaces at the start and the end of the lines.
+     * Uppercases everything (ASCII letters).
+     * @param buffer a part of the file content
+     * @param consumer the consumer of the trimmed lines
      */
-    public void trimFile() {
-        for(String fileDatum: this.fileData) {
-            String trimmedLine;
-
-            int commentIndex = fileDatum.indexOf(";");
-
-            if(commentIndex != -1) {
-                trimmedLine = fileDatum.substring(0, commentIndex);
-            } else {
-                trimmedLine = fileDatum;
+    private void trim(ByteBuffer buffer, LineConsumer consumer) {
+        int limit = buffer.limit();
+
+        for (int i = buffer.position(); i < limit && !this.stopped; i++) {
+            byte b = buffer.get(i);
+
+            if(b == '\n') {
+                this.endLine(consumer);
+            } else if(this.comment) {
+                continue;
+            } else if(b == ';') {
+                this.comment = true;
+            } else if((b & 0xFF) > ' ') {
+                if(b >= 'a' && b <= 'z')
+                    b -= 'a' - 'A';
+                this.line.append(b);
+                this.end = this.line.length();
+            } else if(this.line.length() > 0) {
+                // keeps the spaces after the first word only
+                this.line.append(b);
             }
-
-            this.trimmedData.add(trimmedLine.trim().toUpperCase());
         }
     }
+
+    /**
+     * Hands the current line, without the trailing spaces, to the consumer
+     * and starts a new line.
+     * @param consumer the consumer of the trimmed lines
+     */
+    private void endLine(LineConsumer consumer) {
+        this.line.setLength(this.end);
+        this.stopped = !consumer.accept(this.lineIndex++, this.line);
+        this.line.setLength(0);
+        this.end = 0;
+        this.comment = false;
+    }
+
+    /**
+     * Hands the last line if the file does not end with a line feed.
+     * @param consumer the consumer of the trimmed lines
+     */
+    private void endOfFile(LineConsumer consumer) {
+        if(!this.stopped && (this.line.length() > 0 || this.comment))
+            this.endLine(consumer);
+    }
 }
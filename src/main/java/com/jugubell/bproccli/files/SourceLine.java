@@ -0,0 +1,81 @@
+/*
+ * File: SourceLine.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:23
+ *
+ * This file: SourceLine.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.files;
+
+import java.util.Arrays;
+
+/**
+ * Reusable ASCII buffer of one trimmed source line.
+ * <p>The same instance is refilled for every line read by {@link ReadAssemblerFile},
+ * and handed to the {@link LineConsumer} as a {@link CharSequence},
+ * so no <code>String</code> is created per line.</p>
+ * @author Jugurtha Bellagh
+ */
+public class SourceLine implements CharSequence {
+    private byte[] text = new byte[128];
+    private int length = 0;
+
+    /**
+     * Appends a byte to the line.
+     * @param b the byte to append
+     */
+    void append(byte b) {
+        if (this.length == this.text.length) {
+            this.text = Arrays.copyOf(this.text, this.text.length * 2);
+        }
+        this.text[this.length++] = b;
+    }
+
+    /**
+     * Truncates the line.
+     * @param length the new length of the line
+     */
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (this.text[index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = this.charAt(i);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return this.subSequence(0, this.length).toString();
+    }
+}
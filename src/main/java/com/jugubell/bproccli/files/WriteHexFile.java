@@ -1,7 +1,7 @@
 /*
  * File: WriteHexFile.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 08:14
  *
  * This file: WriteHexFile.java is part of BProC-CLI project.
  *
@@ -28,16 +28,26 @@ import com.jugubell.bproccli.cli.CommandLineOption;
 import com.jugubell.bproccli.console.Log;
 import com.jugubell.bproccli.utils.Utils;
 
-import java.io.BufferedWriter;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 
 /**
  * Class handling writing the hex, hex v3, bin and vhdl files
@@ -45,79 +55,284 @@ import java.io.IOException;
  */
 public class WriteHexFile {
 
-    private final List<String> hexFile;
+    private final Emitter emitter;
     private final String filePath;
     private CommandLineOption option = CommandLineOption.BIN;
+    private final Set<CommandLineOption> formats;
+    private boolean ifChanged = false;
+    private boolean hashName = false;
+    private boolean atomic = false;
+    private Predicate<Path> overwrite = path -> true;
+
+    private static final int HASH_NAME_LENGTH = 12;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     /**
      * Constructor of {@link WriteHexFile}
      * @param filePath the file pr directory path of the file to write
-     * @param hexFile the file to write as <code>{@literal List<String>}</code>
+     * @param emitter the {@link Emitter} writing the file content
      * @param option the option as {@link CommandLineOption} of the file.
      */
-    public WriteHexFile(String filePath, List<String> hexFile, CommandLineOption option) {
-        this.hexFile = hexFile;
+    public WriteHexFile(String filePath, Emitter emitter, CommandLineOption option) {
+        this(filePath, emitter, option, EnumSet.of(option));
+    }
+
+    /**
+     * Constructor of {@link WriteHexFile} for a format written along with other formats.
+     * @param filePath the file pr directory path of the file to write
+     * @param emitter the {@link Emitter} writing the file content
+     * @param option the option as {@link CommandLineOption} of the file.
+     * @param formats every format written in the same run, the file is named according to them
+     */
+    public WriteHexFile(String filePath, Emitter emitter, CommandLineOption option, Set<CommandLineOption> formats) {
+        this.emitter = emitter;
         this.filePath = filePath;
         this.option = option;
+        this.formats = formats;
+    }
+
+    // Setters
+
+    /**
+     * Setting the check of an existing file whose name is only known when writing,
+     * a hashed name or a timestamped name in a directory.
+     * @param overwrite returns true if the existing file can be overwritten, every file by default
+     */
+    public void setOverwrite(Predicate<Path> overwrite) {
+        this.overwrite = overwrite;
+    }
+
+    /**
+     * Setting if an existing file with the same content is left untouched, modification time included.
+     * @param ifChanged boolean true to compare the SHA-256 of the contents before writing
+     */
+    public void setIfChanged(boolean ifChanged) {
+        this.ifChanged = ifChanged;
+    }
+
+    /**
+     * Setting if the file is named after the SHA-256 of its content instead of the timestamp.
+     * @param hashName boolean true for a content-addressed file name
+     */
+    public void setHashName(boolean hashName) {
+        this.hashName = hashName;
+    }
+
+    /**
+     * Setting if the file is written into a temporary file, then renamed over the file.
+     * @param atomic boolean true for an atomic replacement of the file
+     */
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
     }
 
     /**
      * Method writing the hex file
      * If a directory is provided as a file path, the file is automatically
-     * named in the format : {@literal  program_<timestamp>.<extension>}
-     * @return boolean true if path and write successful
+     * named in the format : {@literal  program<timestamp>.<extension>}
+     * If several formats are written, each file takes the extension of its format:
+     * {@literal <name>.<extension>}, or {@literal <name>_<format>.<extension>} if formats share the extension.
+     * With the hash name, {@literal <timestamp>} is replaced by the start of the SHA-256 of the content,
+     * and {@literal _<hash>} is appended to a provided file name.
+     * With if changed or the hash name, an existing file with the same content is not written again.
+     * The path '-' writes the content on the standard output.
+     * @return the {@link WriteStatus}, UNCHANGED if the existing file is left untouched
      */
-    public boolean writeFile() {
+    public WriteStatus writeFile() {
+        // writing on the standard output, it is flushed but not closed
+        if(Utils.checkPath(this.filePath, false) == PathType.STANDARD_STREAM) {
+            try {
+                AsciiWriter writer = new AsciiWriter(Channels.newChannel(System.out));
+                this.emitter.emit(writer);
+                writer.flush();
+                System.out.flush();
+                return System.out.checkError() ? WriteStatus.FAILED : WriteStatus.WRITTEN;
+            } catch (IOException e) {
+                Log.error("[ERROR] Writing on the standard output failed: " + e.getMessage());
+                return WriteStatus.FAILED;
+            }
+        }
+
         try {
-            // test and set path and generate timestamp
-            Path path = Paths.get(this.filePath);
+            // generate timestamp
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME).replace("-", "_").replace(":", "_");
 
-            // if the file path provided is a directory, generate the file name and add it to the path
-            if(Utils.checkPath(this.filePath, false) == PathType.DIRECTORY) {
-                switch (option) {
-                    case BIN:
-                    case HEX:
-                        path = path.resolve("program" + timestamp + ".data");
-                        break;
-                    case HEXV3:
-                        path = path.resolve("program" + timestamp + ".hex");
-                        break;
-                    case VHDL:
-                        path = path.resolve("program" + timestamp + ".vhd");
-                        break;
-                    case VERILOG:
-                        path = path.resolve("program" + timestamp + ".v");
-                        break;
+            // writing process
+            try {
+                // hashing the content without writing it
+                String hash = (this.ifChanged || this.hashName) ? this.hashContent() : null;
+                if(this.hashName)
+                    timestamp = "_" + hash.substring(0, HASH_NAME_LENGTH);
 
+                boolean directory = Utils.checkPath(this.filePath, false) == PathType.DIRECTORY;
+                Path path = getOutputPath(this.filePath, this.option, this.formats, timestamp, this.hashName);
+
+                // the file is left untouched if its content is the same
+                if(hash != null && Files.isRegularFile(path) && hash.equals(hashFile(path))) {
+                    Log.info("[INFO] File content unchanged, not written: " + path.getFileName());
+                    return WriteStatus.UNCHANGED;
                 }
-            }
 
-            // writing process
-            try {
-                Log.info("[INFO] Writing file content on: " + path.getFileName());
+                // the hashed and timestamped names are only known now, the other ones are checked by the command line
+                if((directory || this.hashName) && Files.exists(path) && !this.overwrite.test(path))
+                    return WriteStatus.FAILED;
 
-                // writing
-                try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
-                    // loop throw the file content and write each line
-                    for (int i = 0; i < this.hexFile.size(); i++) {
-                        writer.write(this.hexFile.get(i));
-                        // add new line only if it not the last line
-                        if (i < this.hexFile.size() - 1)
-                            writer.newLine();
-                    }
-                    return true;
+                Log.info("[INFO] Writing file content on: " + path.getFileName());
+                if(this.atomic) {
+                    this.writeAtomic(path);
+                } else {
+                    this.write(path);
                 }
+                return WriteStatus.WRITTEN;
 
             // handle the file opening error
             } catch (IOException e) {
                 Log.error("[ERROR] Writing file failed: " + e.getMessage());
-                return false;
+                return WriteStatus.FAILED;
             }
 
         } catch (InvalidPathException e) {
             Log.error("[ERROR] Invalid path error: " + e.getMessage());
-            return false;
+            return WriteStatus.FAILED;
+        }
+    }
+
+    /**
+     * Getting the path of the file written for a format.
+     * A directory gets the file {@literal program<timestamp>.<extension>}.
+     * If several formats are written or the name is hashed, the file name takes the extension of the format,
+     * with {@literal _<format>} if formats share the extension and {@literal <timestamp>} if the name is hashed.
+     * @param filePath the file or directory path provided
+     * @param option the format of the file
+     * @param formats every format written in the same run
+     * @param timestamp the timestamp, or the start of the hash of the content
+     * @param hashName boolean true if the name is hashed
+     * @return the file path
+     */
+    public static Path getOutputPath(String filePath, CommandLineOption option, Set<CommandLineOption> formats, String timestamp, boolean hashName) {
+        Path path = Paths.get(filePath);
+        String suffix = isSharedExtension(option, formats) ? "_" + option.getName() : "";
+
+        if(Utils.checkPath(filePath, false) == PathType.DIRECTORY)
+            return path.resolve("program" + timestamp + suffix + "." + option.getExtension());
+
+        if(formats.size() > 1 || hashName) {
+            String name = path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            return path.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + (hashName ? timestamp : "") + suffix + "." + option.getExtension());
+        }
+        return path;
+    }
+
+    /**
+     * Checks if another format written in the same run has the same extension.
+     * @return boolean true if the file name needs the format suffix
+     */
+    private static boolean isSharedExtension(CommandLineOption option, Set<CommandLineOption> formats) {
+        for (CommandLineOption format : formats) {
+            if(format != option && format.getExtension().equals(option.getExtension()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the content into a file, the emitter encodes the content into the buffer of the file channel writer.
+     * @param path the file path
+     */
+    private void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            AsciiWriter writer = new AsciiWriter(channel);
+            this.emitter.emit(writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes the content into a temporary file of the same directory, then renames it over the file,
+     * so the file is never seen partially written.
+     * The temporary file is created with the default permissions (umask), like a file written directly,
+     * and takes the permissions of the replaced file on a POSIX file system.
+     * @param path the file path
+     */
+    private void writeAtomic(Path path) throws IOException {
+        Path temporary = createTemporary(path);
+        try {
+            this.write(temporary);
+            if(Files.exists(path) && path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+                Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(path));
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Creates an empty temporary file next to a file, with a random name.
+     * Unlike {@link Files#createTempFile}, the file is not restricted to its owner.
+     * @param path the file path
+     * @return the path of the temporary file
+     */
+    private static Path createTemporary(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        while (true) {
+            Path temporary = directory.resolve("." + path.getFileName() + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(temporary);
+            } catch (FileAlreadyExistsException e) {
+                // another name is drawn
+            }
+        }
+    }
+
+    /**
+     * Hashes the content rendered by the emitter, without keeping it.
+     * @return the SHA-256 as hexadecimal <code>String</code>
+     */
+    private String hashContent() throws IOException {
+        MessageDigest digest = newDigest();
+        AsciiWriter writer = new AsciiWriter(new DigestChannel(digest));
+        this.emitter.emit(writer);
+        writer.flush();
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Hashes the content of an existing file.
+     * @param path the file path
+     * @return the SHA-256 as hexadecimal <code>String</code>
+     */
+    private static String hashFile(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >>> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
         }
+        return new String(chars);
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * File: BinEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: BinEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of the binary format, one word per line for the whole RAM,
+ * with as many digits as the bits of a word.
+ * @author Jugurtha Bellagh
+ */
+public class BinEncoder implements Emitter {
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link BinEncoder}
+     * @param image the compiled RAM image
+     */
+    public BinEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int width = this.image.getGeometry().getWidth();
+        for (int i = 0; i < this.image.getSize(); i++) {
+            if(i > 0)
+                out.newLine();
+            out.putBinary(this.image.get(i), width);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * File: CoeEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: CoeEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of the Xilinx coefficient file for the block memory generator.
+ * <p>The vector is written from the address 0 up to the last non-zero word,
+ * the remaining memory is filled with 0 by the generator.</p>
+ * @author Jugurtha Bellagh
+ */
+public class CoeEncoder implements Emitter {
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link CoeEncoder}
+     * @param image the compiled RAM image
+     */
+    public CoeEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int digits = this.image.getGeometry().getWordDigits();
+
+        int end = this.image.getSize();
+        while (end > 1 && this.image.get(end - 1) == 0)
+            end--;
+
+        out.put("; program RAM");
+        out.newLine().put("memory_initialization_radix=16;");
+        out.newLine().put("memory_initialization_vector=");
+        for (int i = 0; i < end; i++) {
+            out.newLine().putHex(this.image.get(i), digits).put(i < end - 1 ? ',' : ';');
+        }
+        out.newLine();
+    }
+}
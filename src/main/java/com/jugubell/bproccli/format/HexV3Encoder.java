@@ -0,0 +1,84 @@
+/*
+ * File: HexV3Encoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: HexV3Encoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of the Hex V3 format (Logisim RAM), 16 entries per line after the address of the line.
+ * <p>A run of at least {@link #MIN_RUN} identical words is written as one run-length
+ * entry <code>N*value</code>, so the zeroed RAM and the filler regions take a single entry.</p>
+ * @author Jugurtha Bellagh
+ */
+public class HexV3Encoder implements Emitter {
+    private static final int ENTRIES_PER_LINE = 16;
+    private static final int MIN_RUN = 4;
+
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link HexV3Encoder}
+     * @param image the compiled RAM image
+     */
+    public HexV3Encoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int addressDigits = this.image.getGeometry().getAddressDigits();
+        int digits = this.image.getGeometry().getWordDigits();
+
+        // header
+        out.put("v3.0 hex words addressed");
+
+        int size = this.image.getSize();
+        int entries = ENTRIES_PER_LINE;
+        for (int i = 0; i < size; ) {
+            // a new line starts with the address of its first entry
+            if(entries == ENTRIES_PER_LINE) {
+                out.newLine().putHexLowerCase(i, addressDigits).put(':');
+                entries = 0;
+            }
+
+            int word = this.image.get(i);
+            int end = i + 1;
+            while (end < size && this.image.get(end) == word)
+                end++;
+
+            if(end - i >= MIN_RUN) {
+                out.put(' ').putDecimal(end - i).put('*').putHex(word, digits);
+                i = end;
+            } else {
+                out.put(' ').putHex(word, digits);
+                i++;
+            }
+            entries++;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * File: IntelHexEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:22
+ *
+ * This file: IntelHexEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * Encoder of the Intel HEX format, byte addressed.
+ * <p>Only the runs of used words are written as data records (type 00). A record never
+ * crosses a 64 KiB boundary, the upper address bits are set by an extended linear
+ * address record (type 04) when they change. The file ends with the end of file record (type 01).</p>
+ * @author Jugurtha Bellagh
+ */
+public class IntelHexEncoder implements Emitter {
+    private static final int DATA = 0x00;
+    private static final int END_OF_FILE = 0x01;
+    private static final int EXTENDED_LINEAR_ADDRESS = 0x04;
+
+    private final MemoryImage image;
+    private final ByteOrder byteOrder;
+    private boolean firstLine;
+    private int sum;
+
+    /**
+     * Constructor of {@link IntelHexEncoder}
+     * @param image the compiled RAM image
+     * @param byteOrder the byte order of the words
+     */
+    public IntelHexEncoder(MemoryImage image, ByteOrder byteOrder) {
+        this.image = image;
+        this.byteOrder = byteOrder;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int recordSize = Records.recordSize(this.image);
+        int wordBytes = this.image.getGeometry().getWordBytes();
+        int upper = 0;
+        this.firstLine = true;
+
+        for (int start = this.image.nextUsed(0); start != -1; start = this.image.nextUsed(this.image.nextFree(start))) {
+            int end = this.image.nextFree(start) * wordBytes;
+
+            for (int address = start * wordBytes; address < end; ) {
+                // setting the upper 16 bits of the address
+                if((address >>> 16) != upper) {
+                    upper = address >>> 16;
+                    this.startRecord(out, EXTENDED_LINEAR_ADDRESS, 0, 2);
+                    this.putByte(out, upper >>> 8);
+                    this.putByte(out, upper & 0xFF);
+                    this.endRecord(out);
+                }
+
+                // a record stops at the end of the run or at the 64 KiB boundary
+                int length = Math.min(Math.min(recordSize, end - address), 0x10000 - (address & 0xFFFF));
+                this.startRecord(out, DATA, address & 0xFFFF, length);
+                for (int i = 0; i < length; i++) {
+                    this.putByte(out, Records.byteAt(this.image, address + i, this.byteOrder));
+                }
+                this.endRecord(out);
+                address += length;
+            }
+        }
+
+        this.startRecord(out, END_OF_FILE, 0, 0);
+        this.endRecord(out);
+    }
+
+    /**
+     * Starts a record: ':' length, address and type, the data bytes follow with {@link #putByte(AsciiWriter, int)}.
+     */
+    private void startRecord(AsciiWriter out, int type, int address, int length) throws IOException {
+        if(!this.firstLine)
+            out.newLine();
+        this.firstLine = false;
+
+        this.sum = length + (address >>> 8) + (address & 0xFF) + type;
+        out.put(':').putHex(length, 2).putHex(address, 4).putHex(type, 2);
+    }
+
+    /**
+     * Writes a data byte of the record and adds it to the checksum.
+     */
+    private void putByte(AsciiWriter out, int b) throws IOException {
+        out.putHex(b, 2);
+        this.sum += b;
+    }
+
+    /**
+     * Ends a record with its checksum, the two's complement of the sum of the record bytes.
+     */
+    private void endRecord(AsciiWriter out) throws IOException {
+        out.putHex(-this.sum & 0xFF, 2);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * File: MemEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:03
+ *
+ * This file: MemEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of the Verilog memory file read by <code>$readmemh</code>.
+ * <p>Only the runs of used words are written, each run starts with its
+ * <code>@address</code>, followed by one word per line.</p>
+ * @author Jugurtha Bellagh
+ */
+public class MemEncoder implements Emitter {
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link MemEncoder}
+     * @param image the compiled RAM image
+     */
+    public MemEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int addressDigits = this.image.getGeometry().getAddressDigits();
+        int digits = this.image.getGeometry().getWordDigits();
+        out.put("// program RAM");
+
+        for (int start = this.image.nextUsed(0); start != -1; start = this.image.nextUsed(this.image.nextFree(start))) {
+            int end = this.image.nextFree(start);
+            out.newLine().put('@').putHex(start, addressDigits);
+            for (int i = start; i < end; i++) {
+                out.newLine().putHex(this.image.get(i), digits);
+            }
+        }
+        out.newLine();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * File: MifEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: MifEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.Geometry;
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of the Intel (Altera) Memory Initialization File.
+ * <p>The content covers the whole RAM, a run of identical words
+ * is written as one range <code>[a..b] : value;</code>.</p>
+ * @author Jugurtha Bellagh
+ */
+public class MifEncoder implements Emitter {
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link MifEncoder}
+     * @param image the compiled RAM image
+     */
+    public MifEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        Geometry geometry = this.image.getGeometry();
+        int addressDigits = geometry.getAddressDigits();
+        int digits = geometry.getWordDigits();
+        int size = this.image.getSize();
+
+        out.put("-- program RAM");
+        out.newLine().put("WIDTH=").putDecimal(geometry.getWidth()).put(';');
+        out.newLine().put("DEPTH=").putDecimal(size).put(';');
+        out.newLine();
+        out.newLine().put("ADDRESS_RADIX=HEX;");
+        out.newLine().put("DATA_RADIX=HEX;");
+        out.newLine();
+        out.newLine().put("CONTENT BEGIN");
+
+        for (int i = 0; i < size; ) {
+            int word = this.image.get(i);
+            int end = i + 1;
+            while (end < size && this.image.get(end) == word)
+                end++;
+
+            out.newLine().put("    ");
+            if(end - i > 1)
+                out.put('[').putHex(i, addressDigits).put("..").putHex(end - 1, addressDigits).put(']');
+            else
+                out.putHex(i, addressDigits);
+            out.put(" : ").putHex(word, digits).put(';');
+            i = end;
+        }
+
+        out.newLine().put("END;");
+        out.newLine();
+    }
+}
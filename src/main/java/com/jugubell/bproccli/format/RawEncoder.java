@@ -0,0 +1,70 @@
+/*
+ * File: RawEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:22
+ *
+ * This file: RawEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * Encoder of the raw binary image, 2 bytes per word from the address 0.
+ * <p>The words are written in the chosen byte order through the reusable buffer
+ * of the {@link AsciiWriter}, without a copy of the image. The trailing zero words
+ * can be trimmed.</p>
+ * @author Jugurtha Bellagh
+ */
+public class RawEncoder implements Emitter {
+    private final MemoryImage image;
+    private final ByteOrder byteOrder;
+    private final boolean trim;
+
+    /**
+     * Constructor of {@link RawEncoder}
+     * @param image the compiled RAM image
+     * @param byteOrder the byte order of the words
+     * @param trim boolean true to stop after the last non-zero word
+     */
+    public RawEncoder(MemoryImage image, ByteOrder byteOrder, boolean trim) {
+        this.image = image;
+        this.byteOrder = byteOrder;
+        this.trim = trim;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int end = this.image.getSize();
+        if(this.trim) {
+            while (end > 0 && this.image.get(end - 1) == 0)
+                end--;
+        }
+
+        int wordBytes = this.image.getGeometry().getWordBytes();
+        for (int i = 0; i < end; i++) {
+            out.putBytes(this.image.get(i), wordBytes, this.byteOrder);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * File: Records.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: Records.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+
+import java.nio.ByteOrder;
+
+/**
+ * Byte view of a {@link MemoryImage} shared by the record formats (Intel HEX, S-record).
+ * <p>The record formats address bytes: the word at address <code>a</code> is held by
+ * the <code>n</code> bytes from <code>n * a</code>, in the chosen byte order, where <code>n</code>
+ * is the number of bytes of a word (2 for 16 bits words).
+ * Only the runs of used words are written, the record size grows with the image:
+ * 16 bytes for a small program, up to 128 bytes for a full RAM.</p>
+ * @author Jugurtha Bellagh
+ */
+final class Records {
+    private static final int MIN_RECORD_SIZE = 16;
+    private static final int MAX_RECORD_SIZE = 128;
+    private static final int RECORDS_TARGET = 64;
+
+    private Records() {
+    }
+
+    /**
+     * Getting the number of data bytes per record for an image.
+     * @param image the compiled RAM image
+     * @return a power of 2 between 16 and 128
+     */
+    static int recordSize(MemoryImage image) {
+        int bytes = image.getUsedCount() * image.getGeometry().getWordBytes();
+        int size = Integer.highestOneBit(Math.max(bytes / RECORDS_TARGET, 1));
+        return Math.min(Math.max(size, MIN_RECORD_SIZE), MAX_RECORD_SIZE);
+    }
+
+    /**
+     * Getting a byte of the image.
+     * @param image the compiled RAM image
+     * @param address the byte address
+     * @param byteOrder the byte order of the words
+     * @return the byte as <code>int</code> from 0 to 255
+     */
+    static int byteAt(MemoryImage image, int address, ByteOrder byteOrder) {
+        int wordBytes = image.getGeometry().getWordBytes();
+        int word = image.get(address / wordBytes);
+        int index = address % wordBytes;
+        if(byteOrder == ByteOrder.BIG_ENDIAN) {
+            index = wordBytes - 1 - index;
+        }
+        return (word >>> (index * 8)) & 0xFF;
+    }
+}
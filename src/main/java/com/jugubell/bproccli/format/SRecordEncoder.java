@@ -0,0 +1,129 @@
+/*
+ * File: SRecordEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:22
+ *
+ * This file: SRecordEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * Encoder of the Motorola S-record format, byte addressed.
+ * <p>The file starts with an S0 header, then only the runs of used words are written
+ * as data records, followed by the S5 (or S6) count of the data records and the termination
+ * record. The address size is chosen from the highest used address:
+ * S1/S9 for 16 bits, S2/S8 for 24 bits and S3/S7 for 32 bits.</p>
+ * @author Jugurtha Bellagh
+ */
+public class SRecordEncoder implements Emitter {
+    private static final int[] HEADER = {'B', 'P', 'R', 'O', 'C'};
+
+    private final MemoryImage image;
+    private final ByteOrder byteOrder;
+    private int sum;
+
+    /**
+     * Constructor of {@link SRecordEncoder}
+     * @param image the compiled RAM image
+     * @param byteOrder the byte order of the words
+     */
+    public SRecordEncoder(MemoryImage image, ByteOrder byteOrder) {
+        this.image = image;
+        this.byteOrder = byteOrder;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int recordSize = Records.recordSize(this.image);
+        int wordBytes = this.image.getGeometry().getWordBytes();
+
+        // address size from the highest used byte address
+        int highest = (this.image.lastUsed() + 1) * wordBytes - 1;
+        int addressBytes = highest <= 0xFFFF ? 2 : (highest <= 0xFFFFFF ? 3 : 4);
+        int dataType = addressBytes - 1;
+
+        this.startRecord(out, 0, 2, 0, HEADER.length);
+        for (int b : HEADER) {
+            this.putByte(out, b);
+        }
+        this.endRecord(out);
+
+        int count = 0;
+        for (int start = this.image.nextUsed(0); start != -1; start = this.image.nextUsed(this.image.nextFree(start))) {
+            int end = this.image.nextFree(start) * wordBytes;
+
+            for (int address = start * wordBytes; address < end; address += recordSize) {
+                int length = Math.min(recordSize, end - address);
+                out.newLine();
+                this.startRecord(out, dataType, addressBytes, address, length);
+                for (int i = 0; i < length; i++) {
+                    this.putByte(out, Records.byteAt(this.image, address + i, this.byteOrder));
+                }
+                this.endRecord(out);
+                count++;
+            }
+        }
+
+        // count of the data records, then termination with the start address 0
+        out.newLine();
+        if(count <= 0xFFFF)
+            this.startRecord(out, 5, 2, count, 0);
+        else
+            this.startRecord(out, 6, 3, count, 0);
+        this.endRecord(out);
+        out.newLine();
+        this.startRecord(out, 10 - dataType, addressBytes, 0, 0);
+        this.endRecord(out);
+    }
+
+    /**
+     * Starts a record: 'S' type, count and address, the data bytes follow with {@link #putByte(AsciiWriter, int)}.
+     */
+    private void startRecord(AsciiWriter out, int type, int addressBytes, int address, int dataLength) throws IOException {
+        int length = addressBytes + dataLength + 1;
+        this.sum = length;
+
+        out.put('S').putDecimal(type).putHex(length, 2).putHex(address, addressBytes * 2);
+        for (int i = 0; i < addressBytes; i++) {
+            this.sum += (address >>> (i * 8)) & 0xFF;
+        }
+    }
+
+    /**
+     * Writes a data byte of the record and adds it to the checksum.
+     */
+    private void putByte(AsciiWriter out, int b) throws IOException {
+        out.putHex(b, 2);
+        this.sum += b;
+    }
+
+    /**
+     * Ends a record with its checksum, the ones' complement of the sum of the count, address and data bytes.
+     */
+    private void endRecord(AsciiWriter out) throws IOException {
+        out.putHex(~this.sum & 0xFF, 2);
+    }
+}
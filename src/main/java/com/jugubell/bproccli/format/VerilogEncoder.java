@@ -0,0 +1,84 @@
+/*
+ * File: VerilogEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:37
+ *
+ * This file: VerilogEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of an initial block for Verilog code.
+ * The RAM is cleared by a loop, then only the non-zero words are written.
+ * A run of at least {@link #MIN_RUN} identical words is written as one loop.
+ * @author Jugurtha Bellagh
+ */
+public class VerilogEncoder implements Emitter {
+    private static final int MIN_RUN = 3;
+
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link VerilogEncoder}
+     * @param image the compiled RAM image
+     */
+    public VerilogEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        int width = this.image.getGeometry().getWidth();
+        int digits = this.image.getGeometry().getWordDigits();
+        out.put("// program RAM");
+        out.newLine().put("initial begin");
+        out.newLine().put("    integer i;");
+        out.newLine().put("    for(i = 0; i < ").putDecimal(this.image.getSize()).put("; i = i + 1) begin");
+        out.newLine().put("        ram[i] = ").putDecimal(width).put("'h").putHex(0, digits).put(';');
+        out.newLine().put("    end");
+        out.newLine();
+
+        // only the used words are scanned
+        for (int i = this.image.nextUsed(0); i != -1; i = this.image.nextUsed(i + 1)) {
+            int word = this.image.get(i);
+            if(word != 0) {
+                // the free words are 0, they end a run
+                int end = i;
+                while (end + 1 < this.image.getSize() && this.image.get(end + 1) == word)
+                    end++;
+
+                if(end - i + 1 >= MIN_RUN) {
+                    out.newLine().put("    for(i = ").putDecimal(i).put("; i <= ").putDecimal(end).put("; i = i + 1) ram[i] = ").putDecimal(width).put("'h").putHex(word, digits).put(';');
+                    i = end;
+                } else {
+                    out.newLine().put("    ram[").putDecimal(i).put("] = ").putDecimal(width).put("'h").putHex(word, digits).put(';');
+                }
+            }
+        }
+
+        out.newLine().put("end");
+        out.newLine();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * File: VhdlEncoder.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 08:03
+ *
+ * This file: VhdlEncoder.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+package com.jugubell.bproccli.format;
+
+import com.jugubell.bproccli.compiler.Geometry;
+import com.jugubell.bproccli.compiler.MemoryImage;
+import com.jugubell.bproccli.files.AsciiWriter;
+import com.jugubell.bproccli.files.Emitter;
+
+import java.io.IOException;
+
+/**
+ * Encoder of a signal RAM init for VHDL code.
+ * Only the non-zero words are written, the others are set by <code>others</code>.
+ * A run of identical words is written as one range choice <code>a to b =&gt; x"...."</code>.
+ * @author Jugurtha Bellagh
+ */
+public class VhdlEncoder implements Emitter {
+    private final MemoryImage image;
+
+    /**
+     * Constructor of {@link VhdlEncoder}
+     * @param image the compiled RAM image
+     */
+    public VhdlEncoder(MemoryImage image) {
+        this.image = image;
+    }
+
+    @Override
+    public void emit(AsciiWriter out) throws IOException {
+        Geometry geometry = this.image.getGeometry();
+        int digits = geometry.getWordDigits();
+        out.put("-- program RAM");
+        out.newLine().put("signal RAM: RAM_ARRAY_").putDecimal(geometry.getWidth()).put("b (0 to ").putDecimal(this.image.getSize() - 1).put(") := (");
+
+        // only the used words are scanned
+        for (int i = this.image.nextUsed(0); i != -1; i = this.image.nextUsed(i + 1)) {
+            int word = this.image.get(i);
+            if(word != 0) {
+                // the free words are 0, they end a run
+                int end = i;
+                while (end + 1 < this.image.getSize() && this.image.get(end + 1) == word)
+                    end++;
+
+                out.newLine().put("    ").putDecimal(i);
+                if(end > i)
+                    out.put(" to ").putDecimal(end);
+                out.put(" => x\"").putHex(word, digits).put("\",");
+                i = end;
+            }
+        }
+
+        out.newLine().put("    others => x\"").putHex(0, digits).put('"');
+        out.newLine().put(");");
+        out.newLine();
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * File: Constants.java
  * Project: bproc-cli
- * Last modified: 2025-10-06 12:00
+ * Last modified: 2026-10-18 08:14
  *
  * This file: Constants.java is part of BProC-CLI project.
  *
@@ -33,6 +33,12 @@ public class Constants {
     // version
     public static final String VERSION = "v1.0";
 
+    // path of the standard input or output
+    public static final String STANDARD_STREAM = "-";
+
+    // project properties file, read from the directory of the source file
+    public static final String PROJECT_FILE = "bproc.properties";
+
     // help
     public static final List<String> HELP = Arrays.asList(
         "*****************************************************",
@@ -55,11 +61,15 @@ public class Constants {
         "    inputFile (*.bpasm): A valid assembler file absolute or relative path with '.bpasm' extension.",
         "    outputFileName/outputDirectory: A valid output directory, if the name file is not provided, it will be generated.",
         "    compileType: Type of compilation : default 'binary'",
+        "    Use '-' as inputFile to read the standard input, and as outputFileName to write the standard output.",
+        "    When the output is '-', the logs are written to the standard error.",
         "",
         "Actions:",
         "    -s : verify syntax.",
         "    -g : verify syntax, compile then generate the compiled code.",
         "    -o : verify syntax, compile and save the compiled code to a file",
+        "         if a file to write exists, asks before overwriting it (fails when not interactive)",
+        "    -ow: verify syntax, compile and overwrite the file without asking",
         "",
         "Options:",
         "    --bin   : compiles to binary [value by default]",
@@ -67,6 +77,49 @@ public class Constants {
         "    --hexv3 : compiles to hexadecimal version 3 format (compatible for Logisim RAM)",
         "    --vhdl  : compiles to a portion of VHDL RAM initialization signal",
         "    --vrlg  : compiles to a portion of Verilog RAM initial bloc",
+        "    --raw   : compiles to a raw binary image (.bin), 2 bytes per 16 bits word, big endian by default",
+        "        --trim          : stops the image after the last non-zero word",
+        "    --ihex  : compiles to Intel HEX records (.ihx), only the used words, byte addressed",
+        "    --srec  : compiles to Motorola S-records (.srec), only the used words, byte addressed",
+        "    --mem   : compiles to a Verilog memory file (.mem) for $readmemh, only the used words",
+        "    --mif   : compiles to an Intel (Altera) memory initialization file (.mif)",
+        "    --coe   : compiles to a Xilinx coefficient file (.coe) for the block memory generator",
+        "    --little-endian     : writes the low byte of each word first (--raw, --ihex, --srec)",
+        "    Several options can be combined, each format is written to its own file:",
+        "    <name>.<extension>, or <name>_<format>.<extension> when two formats share the extension.",
+        "",
+        "Output files:",
+        "    --if-changed : leaves the existing file untouched if its content is the same (SHA-256)",
+        "    --hash-name  : names the file after the SHA-256 of its content instead of the timestamp",
+        "    --atomic     : writes a temporary file then renames it over the output file",
+        "",
+        "Verification:",
+        "    --max-errors <n> : stops the verification after n errors [50 by default]",
+        "                       every error is reported in one run, use 1 to stop at the first error",
+        "",
+        "Optimization:",
+        "    -O, --optimize : removes the redundant instructions before the labels get their addresses",
+        "                     STA x LDA x, CLA LDA, LNA LNA, code after HLT or JMP...",
+        "                     threads the chains of jumps and removes the jumps to the next instruction",
+        "                     removes the unreachable code and the data never addressed",
+        "                     rewrites the loop counters incremented in A with ISZ (recompute the delays)",
+        "                     (without -O, they are reported as warnings)",
+        "                     then prints the words saved",
+        "                     the code is not optimized if an instruction addresses the program directly",
+        "                     nor with an instruction set definition file (--isa)",
+        "",
+        "RAM geometry:",
+        "    --depth <n> : number of words of the RAM, power of 2 from 4096 to 1M [4096 by default]",
+        "    --width <n> : number of bits of a word, from the address bits + 4 to 32 [16 by default]",
+        "                  sizes accept the K and M suffixes, as 64K",
+        "                  the project file bproc.properties (ram.depth, ram.width) next to the source",
+        "                  sets them for every run, the options override it",
+        "",
+        "Instruction set:",
+        "    --isa <file> : compiles with the instruction set of a definition file",
+        "                   one instruction per line: <mnemonic> <opcode> <none|direct|both> <hw|branch|load>",
+        "                   the definition is cached after its first use, see the README",
+        "                   'isa=<file>' in bproc.properties sets it for the project",
         "",
         "Other arguments:",
         "    --help, -h, help        : shows this help.",
@@ -103,16 +156,19 @@ public class Constants {
         "| WOR    | 0xF400  | Hardware | No             | Write output register (GPIO out)                                 |",
         "| SFI    | 0xF200  | Hardware | No             | Skip the next instr. if flag FGI = 1 (Input reading flag)        |",
         "| SFO    | 0xF100  | Hardware | No             | Skip the next instr. if flag FGO = 0 (Output writing flag)       |",
-        "| LDD*   | 0xF080  | Hardware | Yes            | Load data in immediate addressing mode                           |",
+        "| LDD*   | 0x0000  | Software | Yes            | Load an immediate value into A                                   |",
         "| JMP    | 0x0000  | Software | No             | Jump to label in assembly code                                   |",
         "-------------------------------------------------------------------------------------------------------------------",
-        "* Not yet supported (instead, use .data declaration combined with LDA)",
+        "* LDD <value> is encoded as an LDA from a constant pool placed after the program,",
+        "  the same value used by several LDD instructions takes a single word.",
         "",
         "Keywords:",
         "------------------------------------------------------------------------------------------------------------------",
         "| .data                       | Data declaration keyword                                                         |",
         "| start:                      | Program start label keyword                                                      |",
         "| 0x prefix or h suffix       | Hexadecimal numbers                                                              |",
+        "| .macro NAME [PARAM ...]     | Macro definition, closed by .endm. \\PARAM is an argument, \\@ a unique suffix     |",
+        "| .rept COUNT                 | Block repeated COUNT times, closed by .endr                                      |",
         "------------------------------------------------------------------------------------------------------------------",
         "",
         "Credit: the instruction set is mostly inspired from a PhD lab work at the University of Blida.",
@@ -1,7 +1,7 @@
 /*
  * File: Instruction.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:41
  *
  * This file: Instruction.java is part of BProC-CLI project.
  *
@@ -30,16 +30,16 @@ package com.jugubell.bproccli.utils;
 public class Instruction {
     private final String name;
     private final boolean hasOperand;
-    private final Integer opCode;
+    private final int opCode;
     private final boolean isHWinst;
 
     /**
      * Constructor of the {@link Instruction} with hardware instruction defaulted to true.
      * @param name identifier of the instruction
      * @param hasOperand boolean true if it needs an operand
-     * @param opCode the binary code of the operation supplied as an <code>Integer</code>
+     * @param opCode the binary code of the operation supplied as an <code>int</code>
      */
-    public Instruction(String name, boolean hasOperand, Integer opCode) {
+    public Instruction(String name, boolean hasOperand, int opCode) {
         this.name = name;
         this.hasOperand = hasOperand;
         this.opCode = opCode;
@@ -50,10 +50,10 @@ public class Instruction {
      * Constructor of the {@link Instruction} with control of instruction type (SW/HW).
      * @param name identifier of the instruction
      * @param hasOperand boolean true if it needs an operand
-     * @param opCode the binary code of the operation supplied as an <code>Integer</code>
+     * @param opCode the binary code of the operation supplied as an <code>int</code>
      * @param isHWinst boolean true is it a harware instruction, false if it is a software instruction
      */
-    public Instruction(String name, boolean hasOperand, Integer opCode, boolean isHWinst) {
+    public Instruction(String name, boolean hasOperand, int opCode, boolean isHWinst) {
         this.name = name;
         this.hasOperand = hasOperand;
         this.opCode = opCode;
@@ -63,6 +63,7 @@ public class Instruction {
     //getters
     public String getName() { return this.name; }
     public boolean getHasOperand() { return this.hasOperand; }
-    public Integer getOpCode() { return this.opCode; }
+    public int getOpCode() { return this.opCode; }
+    public boolean isHardware() { return this.isHWinst; }
 
 }
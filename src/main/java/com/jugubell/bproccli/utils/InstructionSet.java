@@ -0,0 +1,294 @@
+/*
+ * File: InstructionSet.java
+ * Project: bproc-cli
+ * Last modified: 2026-10-18 07:44
+ *
+ * This file: InstructionSet.java is part of BProC-CLI project.
+ *
+ * BProC-CLI is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published
+ * by the Free Software Foundation, either version 2 of the License,
+ * or (at your option) any later version.
+ *
+ * BProC-CLI is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with BProC-CLI. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (C) 2025 Jugurtha Bellagh
+ */
+
+
+package com.jugubell.bproccli.utils;
+
+import java.util.Arrays;
+
+/**
+ * Immutable instruction set table.
+ * <p>The mnemonics, of at most 4 characters, are packed into an <code>int</code> and sorted,
+ * and the opcodes and the operand rules are stored in parallel primitive arrays indexed by the
+ * mnemonic id. A mnemonic is found with a perfect hash of its packed key: a multiplier is searched
+ * once, when the table is built, so that every key falls in its own slot of a power of 2 table.
+ * A lookup is then one multiplication and one comparison, without creating a <code>String</code>.</p>
+ * <p>The built-in instruction set of {@link Globals} is shared by the whole process as {@link #BUILT_IN},
+ * the table of a definition file is built by {@link com.jugubell.bproccli.files.InstructionSetFile}.
+ * The software instructions are encoded with hardware instructions of the set: JMP with the
+ * unconditional branch, and LDD with the load of A from a constant of the pool.</p>
+ * @author Jugurtha Bellagh
+ */
+public class InstructionSet {
+    /** Mnemonic id returned when the mnemonic is not found. */
+    public static final int NOT_FOUND = -1;
+
+    /** The instruction takes an address operand. */
+    public static final int OPERAND = 1;
+    /** The operand can be in indirect mode. */
+    public static final int INDIRECT = 1 << 1;
+    /** The instruction is a hardware instruction. */
+    public static final int HARDWARE = 1 << 2;
+    /** The instruction is the unconditional branch, used to encode JMP. */
+    public static final int BRANCH = 1 << 3;
+    /** The instruction loads A from an address, used to encode LDD. */
+    public static final int LOAD = 1 << 4;
+
+    /** Software instruction jumping to a label. */
+    public static final String JUMP = "JMP";
+    /** Software instruction loading an immediate value. */
+    public static final String IMMEDIATE = "LDD";
+    /** Maximum number of characters of a mnemonic. */
+    public static final int MAX_NAME_LENGTH = 4;
+
+    // perfect hash search: table sizes from 2 to 16 slots per key, multipliers tried per size
+    private static final int MAX_LOAD_BITS = 4;
+    private static final int MULTIPLIERS = 1 << 12;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** The built-in instruction set, the branch instruction is BIN. */
+    public static final InstructionSet BUILT_IN = builtIn();
+
+    private final int[] keys;
+    private final int[] opCodes;
+    private final byte[] flags;
+    private final int jumpId;
+    private final int branchOpCode;
+    private final int immediateId;
+    private final int loadOpCode;
+
+    // perfect hash: slot of a key is (key * multiplier) >>> shift, holding the key and its id
+    private final int multiplier;
+    private final int shift;
+    private final int[] slotKeys;
+    private final short[] slotIds;
+
+    /**
+     * Constructor of {@link InstructionSet}, the instructions are sorted by their packed mnemonic.
+     * The entries are expected to be checked: unique mnemonics, at most one branch and one load instruction.
+     * @param keys the mnemonics packed with {@link #pack(CharSequence, int, int)}
+     * @param opCodes the 16 bits opcodes
+     * @param flags the rules of the instructions, combinations of {@link #OPERAND}, {@link #INDIRECT},
+     *              {@link #HARDWARE}, {@link #BRANCH} and {@link #LOAD}
+     */
+    public InstructionSet(int[] keys, int[] opCodes, int[] flags) {
+        int size = keys.length;
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(sorted);
+
+        this.keys = new int[size];
+        this.opCodes = new int[size];
+        this.flags = new byte[size];
+        int branchOpCode = -1;
+        int loadOpCode = -1;
+        for (int i = 0; i < size; i++) {
+            int index = (int) sorted[i];
+            this.keys[i] = keys[index];
+            this.opCodes[i] = opCodes[index];
+            this.flags[i] = (byte) flags[index];
+            if((flags[index] & BRANCH) != 0)
+                branchOpCode = opCodes[index];
+            if((flags[index] & LOAD) != 0)
+                loadOpCode = opCodes[index];
+        }
+        this.branchOpCode = branchOpCode;
+        this.loadOpCode = loadOpCode;
+
+        // searching a multiplier without collision, growing the table if needed
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(size, 1));
+        int found = 0;
+        for (int load = 0; load <= MAX_LOAD_BITS && found == 0; load++, bits++) {
+            found = findMultiplier(this.keys, bits);
+        }
+        bits--;
+
+        // no perfect hash (not expected for mnemonics), the lookups use a binary search
+        this.multiplier = found;
+        this.shift = 32 - bits;
+        this.slotKeys = new int[found == 0 ? 0 : 1 << bits];
+        this.slotIds = new short[this.slotKeys.length];
+        Arrays.fill(this.slotIds, (short) NOT_FOUND);
+        for (int id = 0; id < this.slotKeys.length && id < size; id++) {
+            int slot = (this.keys[id] * found) >>> this.shift;
+            this.slotKeys[slot] = this.keys[id];
+            this.slotIds[slot] = (short) id;
+        }
+
+        // JMP is only available if there is a branch instruction
+        this.jumpId = branchOpCode == -1 ? NOT_FOUND : this.find(pack(JUMP));
+        // LDD is only available if there is a load instruction
+        this.immediateId = loadOpCode == -1 ? NOT_FOUND : this.find(pack(IMMEDIATE));
+    }
+
+    /**
+     * Builds the built-in instruction set from {@link Globals}, the branch instruction is BIN
+     * and the load instruction is LDA.
+     * @return the {@link InstructionSet}
+     */
+    private static InstructionSet builtIn() {
+        int[] keys = new int[Globals.INSTSET.size()];
+        int[] opCodes = new int[keys.length];
+        int[] flags = new int[keys.length];
+
+        int i = 0;
+        for (Instruction instruction : Globals.INSTSET) {
+            keys[i] = pack(instruction.getName());
+            opCodes[i] = instruction.getOpCode();
+            if(instruction.getHasOperand())
+                flags[i] |= instruction.isHardware() ? OPERAND | INDIRECT : OPERAND;
+            if(instruction.isHardware())
+                flags[i] |= HARDWARE;
+            if(instruction.getName().equals("BIN"))
+                flags[i] |= BRANCH;
+            if(instruction.getName().equals("LDA"))
+                flags[i] |= LOAD;
+            i++;
+        }
+        return new InstructionSet(keys, opCodes, flags);
+    }
+
+    /**
+     * Searches the mnemonic id of the characters <code>[start, end)</code> of a sequence.
+     * @param seq the sequence holding the mnemonic
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return the mnemonic id, {@link #NOT_FOUND} if the mnemonic is not in the set
+     */
+    public int lookup(CharSequence seq, int start, int end) {
+        if(end - start > MAX_NAME_LENGTH) {
+            return NOT_FOUND;
+        }
+        return this.find(pack(seq, start, end));
+    }
+
+    /**
+     * Searches the mnemonic id of a packed key.
+     * @param key the packed mnemonic
+     * @return the mnemonic id, {@link #NOT_FOUND} if the mnemonic is not in the set
+     */
+    private int find(int key) {
+        if(this.multiplier == 0) {
+            return Math.max(Arrays.binarySearch(this.keys, key), NOT_FOUND);
+        }
+        int slot = (key * this.multiplier) >>> this.shift;
+        return this.slotKeys[slot] == key ? this.slotIds[slot] : NOT_FOUND;
+    }
+
+    /**
+     * Searches a multiplier placing every key in its own slot of a table of <code>2^bits</code> slots.
+     * The multipliers are odd and derived from the golden ratio.
+     * @param keys the packed mnemonics
+     * @param bits the number of bits of a slot index
+     * @return the multiplier, 0 if none is found
+     */
+    private static int findMultiplier(int[] keys, int bits) {
+        if(bits > 15) {
+            return 0;
+        }
+        long[] used = new long[((1 << bits) + 63) >>> 6];
+        int multiplier = GOLDEN_RATIO;
+        for (int attempt = 0; attempt < MULTIPLIERS; attempt++, multiplier += 2 * GOLDEN_RATIO) {
+            Arrays.fill(used, 0);
+            boolean collision = false;
+            for (int i = 0; i < keys.length && !collision; i++) {
+                int slot = (keys[i] * multiplier) >>> (32 - bits);
+                collision = (used[slot >>> 6] & (1L << slot)) != 0;
+                used[slot >>> 6] |= 1L << slot;
+            }
+            if(!collision) {
+                return multiplier;
+            }
+        }
+        return 0;
+    }
+
+    // Getters
+    public int size() { return this.keys.length; }
+    public int getKey(int id) { return this.keys[id]; }
+    public int getOpCode(int id) { return this.opCodes[id]; }
+    public int getFlags(int id) { return this.flags[id]; }
+    public boolean hasOperand(int id) { return (this.flags[id] & OPERAND) != 0; }
+    public boolean allowsIndirect(int id) { return (this.flags[id] & INDIRECT) != 0; }
+    public boolean isHardware(int id) { return (this.flags[id] & HARDWARE) != 0; }
+    public int getJumpId() { return this.jumpId; }
+
+    /**
+     * Getting the opcode of the unconditional branch, used to encode JMP.
+     * @return the opcode, -1 if the instruction set has no branch instruction
+     */
+    public int getBranchOpCode() { return this.branchOpCode; }
+
+    /**
+     * Getting the mnemonic id of LDD.
+     * @return the id, {@link #NOT_FOUND} if the instruction set has no load instruction
+     */
+    public int getImmediateId() { return this.immediateId; }
+
+    /**
+     * Getting the opcode of the load of A, used to encode LDD.
+     * @return the opcode, -1 if the instruction set has no load instruction
+     */
+    public int getLoadOpCode() { return this.loadOpCode; }
+
+    /**
+     * Getting the mnemonic of an instruction.
+     * @param id the mnemonic id
+     * @return the mnemonic as <code>String</code>
+     */
+    public String getName(int id) {
+        StringBuilder name = new StringBuilder(MAX_NAME_LENGTH);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            int c = (this.keys[id] >>> shift) & 0xFF;
+            if(c != 0)
+                name.append((char) c);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Packs a mnemonic into an <code>int</code>, one byte per character.
+     * @param name the mnemonic, at most 4 characters
+     * @return the packed mnemonic
+     */
+    public static int pack(CharSequence name) {
+        return pack(name, 0, name.length());
+    }
+
+    /**
+     * Packs the characters <code>[start, end)</code> of a sequence into an <code>int</code>, one byte per character.
+     * @param seq the sequence holding the mnemonic
+     * @param start index of the first character
+     * @param end index after the last character, at most 4 characters after the start
+     * @return the packed mnemonic
+     */
+    public static int pack(CharSequence seq, int start, int end) {
+        int key = 0;
+        for (int i = start; i < end; i++) {
+            key = (key << 8) | (seq.charAt(i) & 0xFF);
+        }
+        return key;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * File: LineType.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:44
  *
  * This file: LineType.java is part of BProC-CLI project.
  *
@@ -36,5 +36,6 @@ public enum LineType {
     DATA,
     START,
     JUMP,
+    IMMEDIATE,
     SYNTAX_ERROR
 }
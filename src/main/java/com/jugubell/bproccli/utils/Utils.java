@@ -1,7 +1,7 @@
 /*
  * File: Utils.java
  * Project: bproc-cli
- * Last modified: 2025-09-14 17:57
+ * Last modified: 2026-10-18 07:32
  *
  * This file: Utils.java is part of BProC-CLI project.
  *
@@ -24,6 +24,7 @@
 package com.jugubell.bproccli.utils;
 
 import com.jugubell.bproccli.cli.PathType;
+import com.jugubell.bproccli.compiler.Lexer;
 import com.jugubell.bproccli.console.ConsoleColor;
 import com.jugubell.bproccli.console.Log;
 
@@ -31,7 +32,6 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -47,7 +47,13 @@ public class Utils {
      * @return boolean true if hex number is valid
      */
     public static boolean isValidHexNumber(String str) {
-        return !str.isEmpty() && str.toUpperCase().matches("^[0-9A-F]*$");
+        if(str.isEmpty())
+            return false;
+        for (int i = 0; i < str.length(); i++) {
+            if(Lexer.hexValue(str.charAt(i)) < 0)
+                return false;
+        }
+        return true;
     }
 
     /**
@@ -124,7 +130,7 @@ public class Utils {
      * @return trimmed address as <code>String</code>
      */
     public static String trimAddress(String address) {
-        return address.trim().toUpperCase().replace("0X", " ").replace("H", "").replace("[", "").replace("]", "");
+        return address.trim().toUpperCase().replace("0X", "").replace("H", "").replace("[", "").replace("]", "");
     }
 
     /**
@@ -166,6 +172,10 @@ public class Utils {
 
         List<String> allowedExt = Collections.singletonList("bpasm");
 
+        // '-' reads the standard input
+        if(pth.equals(Constants.STANDARD_STREAM))
+            return PathType.STANDARD_STREAM;
+
         try {
             Path path = Paths.get(pth);
 
@@ -193,7 +203,11 @@ public class Utils {
         if(read)
             allowedExt = Collections.singletonList("bpasm");
         else
-            allowedExt = Arrays.asList("data", "vhd", "hex", "txt", "v");
+            allowedExt = Arrays.asList("data", "vhd", "hex", "txt", "v", "bin", "ihx", "srec", "mem", "mif", "coe");
+
+        // '-' reads the standard input or writes the standard output
+        if(pth.equals(Constants.STANDARD_STREAM))
+            return PathType.STANDARD_STREAM;
 
         try {
             Path path = Paths.get(pth);
@@ -220,22 +234,6 @@ public class Utils {
         }
     }
 
-    /**
-     * Converts a file hex content to a binary format.
-     * Every line of the file content should be a hexadecimal number.
-     * @param file as <code>List</code> of <code>String</code>
-     * @return a <code>List</code> of <code>String</code> in binary format
-     */
-    public static List<String> hexFile2binFile(List<String> file) {
-        List<String> binFile = new ArrayList<>();
-        for (String l: file) {
-            int binary_int = Integer.parseInt(l, 16);
-            String binary = String.format("%16s", Integer.toBinaryString(binary_int)).replace(' ', '0');
-            binFile.add(binary);
-        }
-        return binFile;
-    }
-
     /**
      * Checks if the system is not Windows for use in {@link Log}
      * with {@link ConsoleColor}